@@ -0,0 +1,84 @@
+-- One-off: collapse duplicate bills per appointment so uk_billing_appointment can be added.
+-- Run by hand in SQL*Plus/SQLcl as VEHICLE_APP, after reviewing the report below, then start the app
+-- once with --rebuild-revenue-rollups so the rollups stop counting the removed bills.
+--
+-- Keeps one bill per appointment: the paid one if there is one, else the newest (what the UI showed).
+-- Nothing is deleted outright: the other bills and their service items are copied to
+-- billing_duplicates_audit / service_item_duplicates_audit first, in the same transaction.
+-- Refuses to run if any appointment has more than one paid bill; those need a person to decide
+-- which payment stands (refund, merge or re-link) before this script is run again.
+
+WHENEVER SQLERROR EXIT ROLLBACK
+
+-- 1. Report
+SELECT appointment_id,
+       COUNT(*) AS bills,
+       SUM(CASE WHEN payment_status = 'paid' THEN 1 ELSE 0 END) AS paid,
+       LISTAGG(id || ':' || payment_status || ':' || total_amount, ', ') WITHIN GROUP (ORDER BY id) AS bill_details
+FROM billing
+WHERE appointment_id IS NOT NULL
+GROUP BY appointment_id
+HAVING COUNT(*) > 1
+ORDER BY appointment_id;
+
+-- 2. Refuse when more than one bill for an appointment is paid
+DECLARE
+    conflicts NUMBER;
+BEGIN
+    SELECT COUNT(*) INTO conflicts FROM (
+        SELECT appointment_id FROM billing
+        WHERE appointment_id IS NOT NULL AND payment_status = 'paid'
+        GROUP BY appointment_id HAVING COUNT(*) > 1
+    );
+    IF conflicts > 0 THEN
+        RAISE_APPLICATION_ERROR(-20001, conflicts || ' appointments have more than one paid bill; ' ||
+                'resolve them by hand before running this script');
+    END IF;
+END;
+/
+
+-- 3. Audit tables (created once, empty, same columns plus when the row was parked)
+DECLARE
+    PROCEDURE create_if_missing(ddl VARCHAR2) IS
+    BEGIN
+        EXECUTE IMMEDIATE ddl;
+    EXCEPTION
+        WHEN OTHERS THEN
+            IF SQLCODE != -955 THEN
+                RAISE;
+            END IF;
+    END;
+BEGIN
+    create_if_missing('CREATE TABLE billing_duplicates_audit AS ' ||
+            'SELECT b.*, SYSTIMESTAMP AS parked_at FROM billing b WHERE 1 = 0');
+    create_if_missing('CREATE TABLE service_item_duplicates_audit AS ' ||
+            'SELECT s.*, SYSTIMESTAMP AS parked_at FROM service_item s WHERE 1 = 0');
+END;
+/
+
+-- 4. Park and remove the extra bills
+CREATE GLOBAL TEMPORARY TABLE billing_duplicate_ids ON COMMIT DELETE ROWS AS
+SELECT id FROM billing WHERE 1 = 0;
+
+INSERT INTO billing_duplicate_ids (id)
+SELECT id FROM (
+    SELECT id, ROW_NUMBER() OVER (PARTITION BY appointment_id
+        ORDER BY CASE WHEN payment_status = 'paid' THEN 0 ELSE 1 END, id DESC) AS rn
+    FROM billing WHERE appointment_id IS NOT NULL
+) WHERE rn > 1;
+
+INSERT INTO service_item_duplicates_audit
+SELECT s.*, SYSTIMESTAMP FROM service_item s WHERE s.billing_id IN (SELECT id FROM billing_duplicate_ids);
+
+INSERT INTO billing_duplicates_audit
+SELECT b.*, SYSTIMESTAMP FROM billing b WHERE b.id IN (SELECT id FROM billing_duplicate_ids);
+
+DELETE FROM service_item WHERE billing_id IN (SELECT id FROM billing_duplicate_ids);
+DELETE FROM billing WHERE id IN (SELECT id FROM billing_duplicate_ids);
+
+COMMIT;
+
+DROP TABLE billing_duplicate_ids;
+
+-- 5. Add the constraint (the app would also add it on its next start)
+ALTER TABLE billing ADD CONSTRAINT uk_billing_appointment UNIQUE (appointment_id);
@@ -0,0 +1,50 @@
+package Vehicle.example.Management.Config;
+
+import Vehicle.example.Management.Service.LoginThrottle;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+// Per-IP budget for the credential endpoints, applied before the request reaches a controller.
+// CorsConfig's filter runs first and exposes Retry-After, so the sign-in pages can show the wait.
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> THROTTLED = Set.of(
+            "POST /api/login",
+            "PUT /api/users/forgot-password",
+            "POST /provider/login",
+            "PUT /provider/forgot-password");
+
+    @Autowired
+    private LoginThrottle throttle;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !THROTTLED.contains(request.getMethod() + " " + path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = throttle.checkIp(request.getRemoteAddr());
+        if (wait > 0) {
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(wait));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too many attempts from this address, try again in " + wait + "s\"}");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
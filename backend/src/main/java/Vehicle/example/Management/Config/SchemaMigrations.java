@@ -0,0 +1,142 @@
+package Vehicle.example.Management.Config;
+
+import Vehicle.example.Management.List.AppointmentStatus;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+// Schema fixes that ddl-auto=update cannot make on an existing database.
+// Every step checks the data dictionary or filters on rows still to fix, so running it on each startup is safe.
+// Runs once all beans (and Hibernate's schema update) are ready but before the web server starts, and any
+// failure stops startup: the app never serves requests against a half-migrated schema.
+@Component
+public class SchemaMigrations implements SmartInitializingSingleton {
+
+    // Must match allocationSize on the @SequenceGenerator of each migrated entity
+    private static final int ID_ALLOCATION = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        step("appointment id sequence", () -> moveIdsToSequence("APPOINTMENTS", "APPOINTMENT_SEQ"));
+        step("service id sequence", () -> moveIdsToSequence("SERVICE_DETAILS", "SERVICE_DETAILS_SEQ"));
+        step("service update id sequence", () -> moveIdsToSequence("SERVICE_UPDATES", "SERVICE_UPDATE_SEQ"));
+        step("appointment statuses", this::normalizeAppointmentStatuses);
+        step("service update numbering", this::numberServiceUpdates);
+        step("unique billing per appointment", this::uniqueBillingPerAppointment);
+        step("billing service types", this::backfillBillingServiceTypes);
+    }
+
+    private void step(String name, Runnable migration) {
+        try {
+            migration.run();
+        } catch (RuntimeException e) {
+            System.out.println("Schema migration '" + name + "' failed: " + e.getMessage());
+            throw new IllegalStateException("Schema migration '" + name + "' failed", e);
+        }
+    }
+
+    // These ids used to be IDENTITY columns. Hibernate now assigns them from pooled sequences
+    // (for JDBC batching), so the identity has to go and the sequence must start above existing rows.
+    private void moveIdsToSequence(String table, String sequence) {
+        Integer identityCols = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_tab_identity_cols WHERE table_name = ? AND column_name = 'ID'",
+                Integer.class, table);
+        if (identityCols != null && identityCols > 0) {
+            jdbcTemplate.execute("ALTER TABLE " + table + " MODIFY id DROP IDENTITY");
+            System.out.println("Dropped IDENTITY from " + table.toLowerCase() + ".id");
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        // The pooled optimizer hands out (value - allocation, value], so the next value must clear maxId by a full block
+        long start = (maxId == null ? 0 : maxId) + ID_ALLOCATION;
+
+        Integer sequences = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_sequences WHERE sequence_name = ?", Integer.class, sequence);
+        if (sequences == null || sequences == 0) {
+            jdbcTemplate.execute("CREATE SEQUENCE " + sequence + " START WITH " + start +
+                    " INCREMENT BY " + ID_ALLOCATION);
+            System.out.println("Created " + sequence.toLowerCase() + " starting at " + start);
+            return;
+        }
+
+        Long lastNumber = jdbcTemplate.queryForObject(
+                "SELECT last_number FROM user_sequences WHERE sequence_name = ?", Long.class, sequence);
+        if (lastNumber != null && lastNumber < start) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART START WITH " + start);
+            System.out.println("Restarted " + sequence.toLowerCase() + " at " + start);
+        }
+    }
+
+    // Status labels are now lower-case AppointmentStatus values (legacy ones such as "approved" are
+    // mapped onto them), and @Version needs a number to compare
+    private void normalizeAppointmentStatuses() {
+        int statuses = jdbcTemplate.update("UPDATE appointments SET status = 'pending' WHERE status IS NULL");
+        statuses += jdbcTemplate.update("UPDATE appointments SET status = LOWER(TRIM(status)) WHERE status <> LOWER(TRIM(status))");
+        // Same spelling rules as AppointmentStatus.from: "in progress" and "in_progress" are "in-progress"
+        statuses += jdbcTemplate.update("UPDATE appointments SET status = TRANSLATE(status, ' _', '--') " +
+                "WHERE INSTR(status, ' ') > 0 OR INSTR(status, '_') > 0");
+        for (Map.Entry<String, AppointmentStatus> legacy : AppointmentStatus.legacyLabels().entrySet()) {
+            statuses += jdbcTemplate.update("UPDATE appointments SET status = ? WHERE status = ?",
+                    legacy.getValue().label(), legacy.getKey());
+        }
+        int versions = jdbcTemplate.update("UPDATE appointments SET version = 0 WHERE version IS NULL");
+        if (statuses > 0 || versions > 0) {
+            System.out.println("Normalized " + statuses + " appointment statuses, backfilled " + versions + " versions");
+        }
+    }
+
+    // Steps written before service_updates.seq existed get 1..n per service, in insert order
+    private void numberServiceUpdates() {
+        int numbered = jdbcTemplate.update(
+                "MERGE INTO service_updates u USING (" +
+                "  SELECT id, ROW_NUMBER() OVER (PARTITION BY service_id ORDER BY id) AS rn FROM service_updates" +
+                ") r ON (u.id = r.id) " +
+                "WHEN MATCHED THEN UPDATE SET u.seq = r.rn WHERE u.seq IS NULL");
+        if (numbered > 0) {
+            System.out.println("Numbered " + numbered + " service updates");
+        }
+    }
+
+    // billing.appointment_id is unique now. Duplicate bills left by concurrent create-on-read calls are
+    // money records, so they are never removed here: they are listed and startup stops until
+    // db/dedupe_billing_per_appointment.sql has been reviewed and run
+    private void uniqueBillingPerAppointment() {
+        Integer constraints = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_constraints WHERE constraint_name = 'UK_BILLING_APPOINTMENT'", Integer.class);
+        if (constraints != null && constraints > 0) {
+            return;
+        }
+        List<String> duplicates = jdbcTemplate.query(
+                "SELECT appointment_id, COUNT(*) AS bills, " +
+                "SUM(CASE WHEN payment_status = 'paid' THEN 1 ELSE 0 END) AS paid " +
+                "FROM billing WHERE appointment_id IS NOT NULL " +
+                "GROUP BY appointment_id HAVING COUNT(*) > 1 ORDER BY appointment_id",
+                (rs, rowNum) -> "appointment " + rs.getLong("appointment_id") + ": " + rs.getInt("bills") +
+                        " bills, " + rs.getInt("paid") + " paid");
+        if (!duplicates.isEmpty()) {
+            duplicates.forEach(line -> System.out.println("Duplicate billing: " + line));
+            throw new IllegalStateException(duplicates.size() + " appointments have more than one bill, so " +
+                    "uk_billing_appointment cannot be added. Review them and run db/dedupe_billing_per_appointment.sql");
+        }
+        jdbcTemplate.execute("ALTER TABLE billing ADD CONSTRAINT uk_billing_appointment UNIQUE (appointment_id)");
+        System.out.println("Added uk_billing_appointment");
+    }
+
+    // billing.service_type is new; older bills take it from their appointment
+    private void backfillBillingServiceTypes() {
+        int filled = jdbcTemplate.update(
+                "UPDATE billing b SET service_type = (SELECT a.service_type FROM appointments a WHERE a.id = b.appointment_id) " +
+                "WHERE b.service_type IS NULL AND b.appointment_id IS NOT NULL " +
+                "AND EXISTS (SELECT 1 FROM appointments a WHERE a.id = b.appointment_id AND a.service_type IS NOT NULL)");
+        if (filled > 0) {
+            System.out.println("Backfilled service_type on " + filled + " bills");
+        }
+    }
+}
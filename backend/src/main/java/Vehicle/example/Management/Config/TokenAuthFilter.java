@@ -0,0 +1,78 @@
+package Vehicle.example.Management.Config;
+
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import Vehicle.example.Management.Service.SessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.Set;
+
+// Resolves "Authorization: Bearer <token>" to an AuthPrincipal request attribute. EventSource cannot set
+// headers, so an event stream may instead carry ?ticket=, a short-lived ticket from /api/session/stream-ticket
+// that is only valid for that stream's path; session tokens are never read from the query string.
+// Requests without either pass through as before; a bad or expired one is rejected with 401, except on the
+// sign-in endpoints, where a stale token left in the browser is ignored so the user can sign in again.
+@Component
+public class TokenAuthFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL = "authPrincipal";
+
+    // Event stream endpoints all end in this, and only they accept a ticket
+    public static final String STREAM_SUFFIX = "/events";
+
+    private static final String BEARER = "Bearer ";
+    private static final String TICKET = "ticket";
+
+    private static final Set<String> PUBLIC = Set.of(
+            "POST /api/login",
+            "POST /api/register",
+            "PUT /api/users/forgot-password",
+            "POST /provider/login",
+            "POST /provider/register",
+            "PUT /provider/forgot-password");
+
+    @Autowired
+    private SessionTokenService tokens;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if ("OPTIONS".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String ticket = path.endsWith(STREAM_SUFFIX) ? request.getParameter(TICKET) : null;
+        Optional<AuthPrincipal> principal;
+        if (header != null && header.startsWith(BEARER)) {
+            principal = tokens.validate(header.substring(BEARER.length()).trim());
+        } else if (ticket != null) {
+            principal = tokens.validateStreamTicket(ticket, path);
+        } else {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (principal.isEmpty()) {
+            if (PUBLIC.contains(request.getMethod() + " " + path)) {
+                chain.doFilter(request, response);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Session expired or invalid, please sign in again\"}");
+            return;
+        }
+        request.setAttribute(PRINCIPAL, principal.get());
+        chain.doFilter(request, response);
+    }
+}
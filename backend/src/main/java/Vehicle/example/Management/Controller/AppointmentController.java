@@ -1,16 +1,28 @@
 package Vehicle.example.Management.Controller;
 
+import Vehicle.example.Management.Config.TokenAuthFilter;
+import Vehicle.example.Management.DTO.AuthPrincipal;
 import Vehicle.example.Management.DTO.BookAppointmentRequest;
+import Vehicle.example.Management.DTO.BulkBookingRequest;
 import Vehicle.example.Management.List.Appointment;
 import Vehicle.example.Management.List.ProviderList;
 import Vehicle.example.Management.Repository.AppointmentRepository;
+import Vehicle.example.Management.Service.AppointmentQueryService;
 import Vehicle.example.Management.Service.AppointmentService;
+import Vehicle.example.Management.Service.BulkBookingService;
+import Vehicle.example.Management.Service.ProviderEventHub;
+import Vehicle.example.Management.Service.ProviderService;
+import Vehicle.example.Management.Service.SlotSearchService;
+import Vehicle.example.Management.Service.StatusConflictException;
+import Vehicle.example.Management.Service.SlotUnavailableException;
 import Vehicle.example.Management.Repository.ProviderRepo;
 import Vehicle.example.Management.DTO.AppointmentResponseDTO;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
@@ -18,7 +30,6 @@ import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/appointment")
@@ -34,9 +45,42 @@ public class AppointmentController {
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private ProviderService providerService;
+
+    @Autowired
+    private SlotSearchService slotSearchService;
+
+    @Autowired
+    private AppointmentQueryService appointmentQueryService;
+
+    @Autowired
+    private BulkBookingService bulkBookingService;
+
+    @Autowired
+    private ProviderEventHub providerEventHub;
+
+    // Bookings are made for the customer the token names; a username in the body is only checked against it.
+    // Null when the caller may go ahead, otherwise the 401/403 to send back.
+    private static ResponseEntity<?> rejectUnlessActsAs(AuthPrincipal principal, String username) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to book appointments");
+        }
+        if (!principal.isUser() || (username != null && !username.equals(principal.getName()))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Signed in as a different user");
+        }
+        return null;
+    }
+
     // Simple booking endpoint
     @PostMapping("/book/simple")
-    public ResponseEntity<?> bookAppointmentSimple(@RequestBody BookAppointmentRequest request) {
+    public ResponseEntity<?> bookAppointmentSimple(@RequestBody BookAppointmentRequest request,
+                                                   @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                                   AuthPrincipal principal) {
+        ResponseEntity<?> rejected = rejectUnlessActsAs(principal, request.getUsername());
+        if (rejected != null) {
+            return rejected;
+        }
         try {
             // Create new Appointment object (CORRECT SPELLING)
             Appointment appointment = new Appointment();
@@ -75,9 +119,12 @@ public class AppointmentController {
                 appointment.setProvider(provider);
             }
 
-            Appointment saved = appointmentService.bookAppointmentByUsername(appointment, request.getUsername());
+            Appointment saved = appointmentService.bookAppointment(appointment, principal);
             return ResponseEntity.ok(saved);
 
+        } catch (SlotUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Slot not available: " + e.getMessage());
         } catch (RuntimeException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body("Error booking appointment: " + e.getMessage());
@@ -87,20 +134,36 @@ public class AppointmentController {
         }
     }
 
+    // Fleet booking: many vehicles for one user in a single transaction, with a result per row
+    @PostMapping("/book/bulk")
+    public ResponseEntity<?> bookAppointmentsBulk(@RequestBody BulkBookingRequest request,
+                                                  @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                                  AuthPrincipal principal) {
+        ResponseEntity<?> rejected = rejectUnlessActsAs(principal, request.getUsername());
+        if (rejected != null) {
+            return rejected;
+        }
+        try {
+            return ResponseEntity.ok(bulkBookingService.book(principal, request.getAppointments()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Error booking appointments: " + e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Internal server error: " + e.getMessage());
+        }
+    }
+
     // Get appointments by provider name (owner name)
     @GetMapping("/owner/{ownerName}")
     public ResponseEntity<?> getAppointmentsByOwner(@PathVariable String ownerName) {
         try {
-            List<Appointment> appointments = appointmentService.getAppointmentsByOwnerName(ownerName);
-            if (appointments.isEmpty()) {
+            List<AppointmentResponseDTO> dtos = appointmentService.getAppointmentViewsByOwnerName(ownerName);
+            if (dtos.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.OK)
                         .body("No appointments found for owner: " + ownerName);
             }
 
-            List<AppointmentResponseDTO> dtos = appointments.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -112,16 +175,12 @@ public class AppointmentController {
     @GetMapping("/provider/{providerId}")
     public ResponseEntity<?> getAppointmentsByProvider(@PathVariable int providerId) {
         try {
-            List<Appointment> appointments = appointmentService.getAppointmentsByProviderId(providerId);
-            if (appointments.isEmpty()) {
+            List<AppointmentResponseDTO> dtos = appointmentService.getAppointmentViewsByProviderId(providerId);
+            if (dtos.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.OK)
                         .body("No appointments found for provider ID: " + providerId);
             }
 
-            List<AppointmentResponseDTO> dtos = appointments.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -129,19 +188,115 @@ public class AppointmentController {
         }
     }
 
+    // Live dashboard feed: booking, status and payment events for one provider, only to that provider's
+    // own session (open it with a stream ticket). EventSource resends the last id it saw on reconnect,
+    // and missed events are replayed.
+    @GetMapping(value = "/provider/{providerId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamProviderEvents(
+            @PathVariable int providerId,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(required = false) String lastEventId,
+            @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false) AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!principal.isProvider() || principal.getId() != providerId) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String resumeFrom = lastEventIdHeader != null ? lastEventIdHeader : lastEventId;
+        Long resumeId = null;
+        if (resumeFrom != null && !resumeFrom.isEmpty()) {
+            try {
+                resumeId = Long.parseLong(resumeFrom.trim());
+            } catch (NumberFormatException ignored) {
+                // Unknown id: treat as a fresh connection
+            }
+        }
+        return ResponseEntity.ok(providerEventHub.subscribe(providerId, resumeId));
+    }
+
+    // Free booking slots for a provider, e.g. /appointment/provider/3/slots?from=2024-05-01&to=2024-05-07
+    @GetMapping("/provider/{providerId}/slots")
+    public ResponseEntity<?> getFreeSlots(
+            @PathVariable int providerId,
+            @RequestParam String from,
+            @RequestParam(required = false) String to) {
+        try {
+            LocalDate fromDate = LocalDate.parse(from);
+            LocalDate toDate = to != null && !to.isEmpty() ? LocalDate.parse(to) : fromDate;
+            return ResponseEntity.ok(appointmentService.getAvailability(providerId, fromDate, toDate));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid date format. Please use YYYY-MM-DD format.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+
+    // Earliest free slots across all providers offering a service, e.g.
+    // /appointment/first-available?serviceType=brake service&from=2024-05-04&notAfter=12:00&lat=..&lon=..
+    @GetMapping("/first-available")
+    public ResponseEntity<?> findFirstAvailable(
+            @RequestParam(required = false) String serviceType,
+            @RequestParam String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String notBefore,
+            @RequestParam(required = false) String notAfter,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            LocalDate fromDate = LocalDate.parse(from);
+            LocalDate toDate = to != null && !to.isEmpty() ? LocalDate.parse(to) : fromDate;
+            LocalTime earliest = notBefore != null && !notBefore.isEmpty() ? LocalTime.parse(notBefore) : null;
+            LocalTime latest = notAfter != null && !notAfter.isEmpty() ? LocalTime.parse(notAfter) : null;
+            return ResponseEntity.ok(slotSearchService.firstAvailable(serviceType, fromDate, toDate,
+                    earliest, latest, lat, lon, radiusKm, Math.max(1, Math.min(limit, 100))));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid date or time format. Use YYYY-MM-DD and HH:mm.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Filtered, keyset-paginated listing; pass the returned nextCursor back as ?cursor= for the next page
+    @GetMapping("/query")
+    public ResponseEntity<?> queryAppointments(
+            @RequestParam(required = false) Integer providerId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String serviceType,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(required = false) String vehicleNumber,
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        try {
+            LocalDate fromDate = from != null && !from.isEmpty() ? LocalDate.parse(from) : null;
+            LocalDate toDate = to != null && !to.isEmpty() ? LocalDate.parse(to) : null;
+            return ResponseEntity.ok(appointmentQueryService.query(providerId, status, serviceType,
+                    fromDate, toDate, vehicleNumber, username, cursor, size));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid date format. Please use YYYY-MM-DD format.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     // Get All Appointments
     @GetMapping("/all")
     public ResponseEntity<?> getAllAppointments() {
         try {
-            List<Appointment> appointments = appointmentService.getAllAppointments();
-            if (appointments.isEmpty()) {
+            List<AppointmentResponseDTO> dtos = appointmentService.getAllAppointmentViews();
+            if (dtos.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.OK).body("No appointments found");
             }
 
-            List<AppointmentResponseDTO> dtos = appointments.stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-
             return ResponseEntity.ok(dtos);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -149,61 +304,62 @@ public class AppointmentController {
         }
     }
 
-    // Convert Appointment to DTO
-    private AppointmentResponseDTO convertToDTO(Appointment appointment) {
-        return new AppointmentResponseDTO(
-                appointment.getId(),
-                appointment.getName(),
-                appointment.getPhone(),
-                appointment.getVehicleName(),
-                appointment.getVehicleNumber(),
-                appointment.getServiceType(),
-                appointment.getDate(),
-                appointment.getTime(),
-                appointment.getStatus() != null ? appointment.getStatus() : "Pending",
-                appointment.getUser() != null ? appointment.getUser().getName() : null,
-                appointment.getUser() != null ? appointment.getUser().getUsername() : null,
-                appointment.getProvider() != null ? appointment.getProvider().getGaragename() : null,
-                appointment.getProvider() != null ? appointment.getProvider().getOwnername() : null,
-                appointment.getProvider() != null ? appointment.getProvider().getId() : null
-        );
-    }
-
     // Get All Providers (for dropdown)
     @GetMapping("/providers")
     public ResponseEntity<?> getAllProviders() {
         try {
-            List<ProviderList> providers = providerRepo.findAll();
-            return ResponseEntity.ok(providers);
+            // Catalog projection: no image bytes or passwords in the dropdown payload
+            return ResponseEntity.ok(providerService.getCatalogEntries());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error fetching providers: " + e.getMessage());
         }
     }
-    // Add this to your AppointmentController.java
+    // Status transition. Send the version you last saw (body "version" or If-Match) to detect
+    // concurrent dashboard edits; a stale version or a disallowed transition returns 409.
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateAppointmentStatus(
             @PathVariable Long id,
-            @RequestBody Map<String, String> statusUpdate) {
+            @RequestBody Map<String, String> statusUpdate,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch) {
 
         try {
             String newStatus = statusUpdate.get("status");
-            Optional<Appointment> appointmentOpt = appointmentRepository.findById(id);
+            String versionValue = statusUpdate.get("version") != null
+                    ? statusUpdate.get("version")
+                    : (ifMatch != null ? ifMatch.replace("W/", "").replace("\"", "").trim() : null);
+            Long expectedVersion = versionValue != null && !versionValue.isEmpty() ? Long.parseLong(versionValue) : null;
+
+            Optional<AppointmentResponseDTO> updated = appointmentService.updateStatus(id, newStatus, expectedVersion);
 
-            if (!appointmentOpt.isPresent()) {
+            if (updated.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("Appointment not found with ID: " + id);
             }
 
-            Appointment appointment = appointmentOpt.get();
-            appointment.setStatus(newStatus);
-
-            Appointment updated = appointmentRepository.save(appointment);
-            return ResponseEntity.ok(convertToDTO(updated));
+            return ResponseEntity.ok()
+                    .eTag("\"" + updated.get().getVersion() + "\"")
+                    .body(updated.get());
 
+        } catch (StatusConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            // Also covers NumberFormatException from a malformed version
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Error updating appointment status: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // Append-only transition log, oldest first
+    @GetMapping("/{id}/status-history")
+    public ResponseEntity<?> getStatusHistory(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(appointmentService.getStatusHistory(id));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching status history: " + e.getMessage());
+        }
+    }
+}
@@ -1,14 +1,21 @@
 package Vehicle.example.Management.Controller;
 
+import Vehicle.example.Management.Config.TokenAuthFilter;
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import Vehicle.example.Management.DTO.JobStatusDTO;
 import Vehicle.example.Management.DTO.PaymentRequest;
 import Vehicle.example.Management.List.Billing;
+import Vehicle.example.Management.Service.BillingReconciliationJob;
 import Vehicle.example.Management.Service.BillingService;
+import Vehicle.example.Management.Service.RevenueRollupService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 @RestController
@@ -20,6 +27,12 @@ public class BillingController {
     @Autowired
     private BillingService billingService;
 
+    @Autowired
+    private BillingReconciliationJob reconciliationJob;
+
+    @Autowired
+    private RevenueRollupService revenueRollups;
+
     @GetMapping("/users/{userId}")
     public ResponseEntity<List<Billing>> getBillingByUser(@PathVariable Long userId) {
         try {
@@ -173,15 +186,59 @@ public class BillingController {
         }
     }
 
-    // Temporary endpoint to fix existing data
-    @PostMapping("/fix-appointment-ids")
-    public ResponseEntity<String> fixAppointmentIds() {
+    // Paged variant of the status listing: ?cursor= takes nextCursor from the previous page
+    @GetMapping("/status/{paymentStatus}/page")
+    public ResponseEntity<?> getBillingPageByStatus(@PathVariable String paymentStatus,
+                                                    @RequestParam(required = false) Long cursor,
+                                                    @RequestParam(defaultValue = "50") int size) {
         try {
-            String result = billingService.fixMissingAppointmentIds();
-            return ResponseEntity.ok(result);
+            return ResponseEntity.ok(billingService.getBillingPageByPaymentStatus(paymentStatus, cursor, size));
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error fixing appointment IDs: " + e.getMessage());
+            System.out.println("Error fetching billing page with status " + paymentStatus + ": " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // Provider revenue from the rollups, e.g. /api/billing/revenue?providerId=3&from=2025-01-01&to=2025-03-31&groupBy=month.
+    // Only for that provider's own session.
+    @GetMapping("/revenue")
+    public ResponseEntity<?> getRevenueReport(@RequestParam Long providerId,
+                                              @RequestParam String from,
+                                              @RequestParam(required = false) String to,
+                                              @RequestParam(defaultValue = "day") String groupBy,
+                                              @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                              AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in to view revenue");
+        }
+        if (!principal.isProvider() || principal.getId() != providerId) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Revenue is only visible to its provider");
         }
+        try {
+            LocalDate fromDate = LocalDate.parse(from);
+            LocalDate toDate = to != null && !to.isEmpty() ? LocalDate.parse(to) : fromDate;
+            if (toDate.isBefore(fromDate)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("'to' must not be before 'from'");
+            }
+            if (!"day".equals(groupBy) && !"month".equals(groupBy)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("groupBy must be 'day' or 'month'");
+            }
+            return ResponseEntity.ok(revenueRollups.report(providerId, fromDate, toDate, "month".equals(groupBy)));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid date format. Please use YYYY-MM-DD format.");
+        }
+    }
+
+    // Starts the background job that links billings to their appointments; returns immediately
+    @PostMapping("/fix-appointment-ids")
+    public ResponseEntity<JobStatusDTO> fixAppointmentIds() {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reconciliationJob.start());
+    }
+
+    // Progress of that job: state, checkpoint, counts and rows per second
+    @GetMapping("/fix-appointment-ids")
+    public ResponseEntity<JobStatusDTO> getFixAppointmentIdsStatus() {
+        return ResponseEntity.ok(reconciliationJob.status());
     }
-}
\ No newline at end of file
+}
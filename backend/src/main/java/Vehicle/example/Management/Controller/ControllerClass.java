@@ -1,36 +1,68 @@
 package Vehicle.example.Management.Controller;
 
+import Vehicle.example.Management.Config.TokenAuthFilter;
+import Vehicle.example.Management.DTO.AuthPrincipal;
 import Vehicle.example.Management.List.ServiceDetails;
 import Vehicle.example.Management.List.UserList;
-import Vehicle.example.Management.Repository.UserRepo;
+import Vehicle.example.Management.Service.CredentialService;
+import Vehicle.example.Management.Service.ImageRenditions;
+import Vehicle.example.Management.Service.ImageStore;
+import Vehicle.example.Management.Service.LoginOverloadedException;
+import Vehicle.example.Management.Service.LoginThrottle;
+import Vehicle.example.Management.Service.RateLimitedException;
 import Vehicle.example.Management.Service.ServiceClass;
 import Vehicle.example.Management.Service.ServiceLayer;
+import Vehicle.example.Management.Service.SessionTokenService;
+import Vehicle.example.Management.Service.UserCache;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @CrossOrigin
 @RequestMapping("/api")
 public class ControllerClass {
 
+    // Login responses carry the session token here too (exposed through CORS)
+    public static final String SESSION_TOKEN_HEADER = "X-Auth-Token";
+
     @Autowired
     private ServiceClass userService;
 
     @Autowired
-    private UserRepo userRepository;
+    private ImageStore imageStore;
+
+    @Autowired
+    private ImageRenditions imageRenditions;
+
+    @Autowired
+    private ImageResponseWriter imageResponseWriter;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private SessionTokenService sessionTokens;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private UserCache userCache;
 
 
     // Get user by username
@@ -45,22 +77,82 @@ public class ControllerClass {
         }
     }
 
-    // Login
+    // Login; the hash check runs on the login pool and this request thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody UserList loginRequest) {
-        UserList user = userService.login(loginRequest.getUsername(), loginRequest.getPassword());
-        if (user != null) {
-            return ResponseEntity.ok(Map.of(
-                    "username", user.getUsername(),
-                    "name", user.getName(),
-                    "id", user.getId()
-            ));
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body(Map.of("error", "Invalid username or password"));
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody UserList loginRequest) {
+        return credentialService.loginUser(loginRequest.getUsername(), loginRequest.getPassword())
+                .<ResponseEntity<?>>thenApply(user -> {
+                    if (user.isPresent()) {
+                        String token = sessionTokens.issueForUser(user.get().getId(), user.get().getUsername());
+                        return ResponseEntity.ok()
+                                .header(SESSION_TOKEN_HEADER, token)
+                                .body(Map.of(
+                                        "username", user.get().getUsername(),
+                                        "name", user.get().getName(),
+                                        "id", user.get().getId(),
+                                        "token", token
+                                ));
+                    }
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body(Map.of("error", "Invalid username or password"));
+                })
+                .exceptionally(e -> {
+                    if (e.getCause() instanceof RateLimitedException limited) {
+                        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(limited.getRetryAfterSeconds()))
+                                .body(Map.of("error", limited.getMessage()));
+                    }
+                    if (e.getCause() instanceof LoginOverloadedException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(Map.of("error", e.getCause().getMessage()));
+                    }
+                    System.out.println("Login failed for " + loginRequest.getUsername() + ": " + e.getMessage());
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                });
+    }
+
+
+    // Hit/miss counts of the username -> user cache
+    @GetMapping("/cache/users/stats")
+    public ResponseEntity<Map<String, Object>> getUserCacheStats() {
+        return ResponseEntity.ok(userCache.getStats());
+    }
+
+    // Allowed and shed counts of the login/reset rate limits
+    @GetMapping("/rate-limits")
+    public ResponseEntity<Map<String, Object>> getRateLimitStats() {
+        return ResponseEntity.ok(loginThrottle.getStats());
+    }
+
+    // Who the bearer token belongs to, read from the token alone
+    @GetMapping("/session")
+    public ResponseEntity<?> getSession(@RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                        AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not signed in"));
         }
+        return ResponseEntity.ok(principal);
     }
 
+    // Trade the bearer token for a 60-second ticket to open one event stream, e.g.
+    // ?path=/api/services/alice/events, then connect with EventSource to that path + ?ticket=
+    @PostMapping("/session/stream-ticket")
+    public ResponseEntity<?> issueStreamTicket(@RequestParam String path,
+                                               @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                               AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Not signed in"));
+        }
+        if (!path.startsWith("/") || !path.endsWith(TokenAuthFilter.STREAM_SUFFIX)) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Not an event stream: " + path));
+        }
+        try {
+            return ResponseEntity.ok(Map.of("ticket", sessionTokens.issueStreamTicket(principal, path)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(
@@ -88,7 +180,7 @@ public class ControllerClass {
             UserList user = new UserList();
             user.setName(name);
             user.setUsername(username);
-            user.setPassword(password);
+            user.setPassword(credentialService.hashPassword(password));
             user.setEmail(email);
             user.setPhone(phone);
             user.setAddress(address);
@@ -98,9 +190,10 @@ public class ControllerClass {
             user.setRegno(regno);
             user.setDateofbirth(dob); // Make sure this is set
 
-            // Handle image upload...
+            // Handle image upload
+            userService.applyImage(user, image);
 
-            UserList savedUser = userRepository.save(user);
+            UserList savedUser = userService.saveUser(user);
             return ResponseEntity.ok("User registered successfully");
 
         } catch (ParseException e) {
@@ -115,6 +208,13 @@ public class ControllerClass {
         String username = request.get("username");
         String newPassword = request.get("newPassword");
 
+        try {
+            loginThrottle.checkAccount("user", username);
+        } catch (RateLimitedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
         String result = userService.resetPassword(username, newPassword);
         if (result.toLowerCase().contains("successful")) {
             return ResponseEntity.ok(result);
@@ -123,12 +223,27 @@ public class ControllerClass {
         }
     }
 
+    // Store images (named by content hash) are immutable; legacy uploads/ files keep their name across
+    // replacements, so they are revalidated. Both go through ImageResponseWriter for ETag, 304 and ranges.
     @GetMapping("/images/{imageName}")
-    public ResponseEntity<Resource> getImage(@PathVariable String imageName) throws IOException {
-        Path path = Paths.get(System.getProperty("user.dir"), "uploads", imageName);
-        Resource resource = new UrlResource(path.toUri());
-        if (!resource.exists() || !resource.isReadable()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    public void getImage(@PathVariable String imageName,
+                         @RequestParam(required = false) Integer size,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        if (imageStore.exists(imageName)) {
+            ImageRenditions.Variant variant = imageRenditions.select(imageName, size);
+            imageResponseWriter.write(variant.getFile(), variant.getEtag(),
+                    imageStore.detectContentType(variant.getFile()),
+                    variant.isProvisional() ? ImageResponseWriter.REVALIDATE : ImageResponseWriter.IMMUTABLE,
+                    request, response);
+            return;
+        }
+
+        Path uploads = Paths.get(System.getProperty("user.dir"), "uploads").toAbsolutePath().normalize();
+        Path path = uploads.resolve(imageName).normalize();
+        if (!path.startsWith(uploads) || !Files.isRegularFile(path) || !Files.isReadable(path)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
         }
 
         // detect content type dynamically
@@ -136,9 +251,8 @@ public class ControllerClass {
         if(imageName.toLowerCase().endsWith(".png")) contentType = "image/png";
         else if(imageName.toLowerCase().endsWith(".gif")) contentType = "image/gif";
 
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .body(resource);
+        String etag = "\"" + Files.size(path) + "-" + Files.getLastModifiedTime(path).toMillis() + "\"";
+        imageResponseWriter.write(path, etag, contentType, ImageResponseWriter.REVALIDATE, request, response);
     }
 
 
@@ -165,7 +279,7 @@ public class ControllerClass {
 
         try {
             // Find existing user
-            Optional<UserList> existingUserOpt = userService.getUserByUsername(username);
+            Optional<UserList> existingUserOpt = userService.loadByUsername(username);
             if (existingUserOpt.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of("error", "User not found"));
             }
@@ -188,12 +302,7 @@ public class ControllerClass {
             existingUser.setDateofbirth(dob);
 
             // Handle image upload if provided
-            if (image != null && !image.isEmpty()) {
-                existingUser.setImageName(image.getOriginalFilename());
-                existingUser.setImageType(image.getContentType());
-                // If you have imageData field, set it here
-                // existingUser.setImageData(image.getBytes());
-            }
+            userService.applyImage(existingUser, image);
 
             // Save updated user
             UserList updatedUser = userService.updateUser(existingUser);
@@ -0,0 +1,44 @@
+package Vehicle.example.Management.Controller;
+
+import Vehicle.example.Management.Service.ImageRenditions;
+import Vehicle.example.Management.Service.ImageStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/images")
+@CrossOrigin
+public class ImageController {
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ImageRenditions imageRenditions;
+
+    @Autowired
+    private ImageResponseWriter imageResponseWriter;
+
+    // Content-addressed blobs never change, so they can be cached forever; a provisional stand-in for a
+    // rendition still being generated is revalidated instead
+    @GetMapping("/{hash}")
+    public void getBlob(@PathVariable String hash,
+                        @RequestParam(required = false) Integer size,
+                        HttpServletRequest request,
+                        HttpServletResponse response) throws IOException {
+        if (!imageStore.exists(hash)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ImageRenditions.Variant variant = imageRenditions.select(hash, size);
+        Path file = variant.getFile();
+        imageResponseWriter.write(file, variant.getEtag(), imageStore.detectContentType(file),
+                variant.isProvisional() ? ImageResponseWriter.REVALIDATE : ImageResponseWriter.IMMUTABLE,
+                request, response);
+    }
+}
@@ -0,0 +1,130 @@
+package Vehicle.example.Management.Controller;
+
+import Vehicle.example.Management.Config.TokenAuthFilter;
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import Vehicle.example.Management.DTO.PriceCatalogDTO;
+import Vehicle.example.Management.List.ServicePrice;
+import Vehicle.example.Management.Service.PriceCatalog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/prices")
+@CrossOrigin(origins = "http://localhost:5173")
+public class PriceController {
+
+    @Autowired
+    private PriceCatalog priceCatalog;
+
+    // Whole catalog, tagged with its version; clients revalidate with If-None-Match and get 304 until a price changes
+    @GetMapping
+    public ResponseEntity<?> getCatalog(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        PriceCatalogDTO catalog = priceCatalog.getCatalog();
+        String etag = "\"" + catalog.getVersion() + "\"";
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(catalog);
+    }
+
+    // Price the catalog would charge, e.g. /api/prices/quote?serviceType=Oil Change&providerId=3&date=2024-05-04
+    // (date defaults to today; billing prices on the appointment date)
+    @GetMapping("/quote")
+    public ResponseEntity<?> quote(@RequestParam String serviceType,
+                                   @RequestParam(required = false) Integer providerId,
+                                   @RequestParam(required = false) String vehicleType,
+                                   @RequestParam(required = false) String date) {
+        try {
+            LocalDate on = date != null && !date.isEmpty() ? LocalDate.parse(date) : null;
+            return ResponseEntity.ok(priceCatalog.price(serviceType, providerId, vehicleType, on));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body("Invalid date format. Please use YYYY-MM-DD format.");
+        }
+    }
+
+    // Writes are for providers, on their own rows only: the provider comes from the session, never the body,
+    // and the catalog-wide defaults (no provider) are not editable over HTTP
+    @PostMapping
+    public ResponseEntity<?> addPrice(@RequestBody ServicePrice price,
+                                      @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                      AuthPrincipal principal) {
+        ResponseEntity<?> rejected = rejectUnlessProvider(principal);
+        if (rejected != null) {
+            return rejected;
+        }
+        try {
+            price.setId(null);
+            price.setProviderId(Math.toIntExact(principal.getId()));
+            return ResponseEntity.ok(priceCatalog.save(price));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updatePrice(@PathVariable Long id, @RequestBody ServicePrice price,
+                                         @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                         AuthPrincipal principal) {
+        ResponseEntity<?> rejected = rejectUnlessOwner(principal, id);
+        if (rejected != null) {
+            return rejected;
+        }
+        try {
+            price.setId(id);
+            price.setProviderId(Math.toIntExact(principal.getId()));
+            return ResponseEntity.ok(priceCatalog.save(price));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deletePrice(@PathVariable Long id,
+                                         @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false)
+                                         AuthPrincipal principal) {
+        ResponseEntity<?> rejected = rejectUnlessOwner(principal, id);
+        if (rejected != null) {
+            return rejected;
+        }
+        priceCatalog.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Null when the caller may go ahead, otherwise the response to send back
+    private static ResponseEntity<?> rejectUnlessProvider(AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in as a provider to edit prices");
+        }
+        if (!principal.isProvider()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only providers can edit prices");
+        }
+        return null;
+    }
+
+    private ResponseEntity<?> rejectUnlessOwner(AuthPrincipal principal, Long id) {
+        ResponseEntity<?> rejected = rejectUnlessProvider(principal);
+        if (rejected != null) {
+            return rejected;
+        }
+        Optional<ServicePrice> existing = priceCatalog.find(id);
+        if (existing.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Price not found with id: " + id);
+        }
+        Integer owner = existing.get().getProviderId();
+        if (owner == null || owner != principal.getId()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Price " + id + " belongs to another provider");
+        }
+        return null;
+    }
+}
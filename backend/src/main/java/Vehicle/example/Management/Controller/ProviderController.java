@@ -1,9 +1,23 @@
 package Vehicle.example.Management.Controller;
 
+import Vehicle.example.Management.DTO.CursorPage;
+import Vehicle.example.Management.DTO.NearbyProviderDTO;
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import Vehicle.example.Management.DTO.ProviderImageView;
 import Vehicle.example.Management.List.ProviderList;
 import Vehicle.example.Management.Repository.ProviderRepo;
+import Vehicle.example.Management.Service.CredentialService;
+import Vehicle.example.Management.Service.ImageRenditions;
+import Vehicle.example.Management.Service.ImageStore;
+import Vehicle.example.Management.Service.LoginOverloadedException;
+import Vehicle.example.Management.Service.LoginThrottle;
 import Vehicle.example.Management.Service.ProviderService;
+import Vehicle.example.Management.Service.RateLimitedException;
+import Vehicle.example.Management.Service.SessionTokenService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -11,9 +25,15 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/provider")
@@ -24,6 +44,18 @@ public class ProviderController {
     private ProviderRepo providerRepo;
     @Autowired
     private ProviderService service;
+    @Autowired
+    private ImageStore imageStore;
+    @Autowired
+    private ImageRenditions imageRenditions;
+    @Autowired
+    private ImageResponseWriter imageResponseWriter;
+    @Autowired
+    private CredentialService credentialService;
+    @Autowired
+    private SessionTokenService sessionTokens;
+    @Autowired
+    private LoginThrottle loginThrottle;
 
     // Get all providers
     @GetMapping("/providerList")
@@ -32,6 +64,46 @@ public class ProviderController {
         return ResponseEntity.ok(providers);
     }
 
+    // Paginated provider catalog without image bytes or passwords
+    @GetMapping("/catalog")
+    public ResponseEntity<?> getCatalog(
+            @RequestParam(required = false) String specialization,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        Integer afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterId = Integer.parseInt(cursor);
+            } catch (NumberFormatException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", "Invalid cursor"));
+            }
+        }
+        CursorPage<ProviderCatalogDTO> page = service.getCatalog(afterId, size, specialization);
+        return ResponseEntity.ok(page);
+    }
+
+    // Server-side provider search (prefix and typo tolerant), best matches first
+    @GetMapping("/search")
+    public ResponseEntity<List<ProviderCatalogDTO>> searchProviders(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(service.search(query, limit));
+    }
+
+    // Garages near a point, nearest first, served from the in-memory grid index
+    @GetMapping("/nearby")
+    public ResponseEntity<?> findNearby(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "10") int k,
+            @RequestParam(required = false) Double radiusKm) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return ResponseEntity.badRequest().body(Map.of("message", "Invalid coordinates"));
+        }
+        List<NearbyProviderDTO> nearby = service.findNearby(lat, lon, k, radiusKm);
+        return ResponseEntity.ok(nearby);
+    }
+
     // Register provider
     @PostMapping("/register")
     public ResponseEntity<?> registerProvider(
@@ -44,26 +116,50 @@ public class ProviderController {
         } catch (IOException e) {
             return new ResponseEntity<>("Failed to register provider: " + e.getMessage(),
                     HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        } catch (LoginOverloadedException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
         }
     }
 
     // Login
     @PostMapping("/login")
-    public ResponseEntity<?> loginProvider(@RequestBody Map<String, String> loginData) {
+    public CompletableFuture<ResponseEntity<?>> loginProvider(@RequestBody Map<String, String> loginData) {
         String ownername = loginData.get("ownername");
         String password = loginData.get("password");
 
         if (ownername == null || password == null) {
-            return ResponseEntity.badRequest().body("Ownername and password are required");
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Ownername and password are required"));
         }
 
-        ProviderList provider = service.login(ownername, password);
-        if (provider != null) {
-            return ResponseEntity.ok(provider);
-        } else {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                    .body("Invalid credentials");
-        }
+        // The hash check runs on the login pool; this request thread is released meanwhile
+        return credentialService.loginProvider(ownername, password)
+                .<ResponseEntity<?>>thenApply(provider -> {
+                    if (provider.isPresent()) {
+                        // The provider body stays as it was; the session token travels in a header
+                        return ResponseEntity.ok()
+                                .header(ControllerClass.SESSION_TOKEN_HEADER,
+                                        sessionTokens.issueForProvider(provider.get().getId(), provider.get().getOwnername()))
+                                .body(provider.get());
+                    }
+                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                            .body("Invalid credentials");
+                })
+                .exceptionally(e -> {
+                    if (e.getCause() instanceof RateLimitedException limited) {
+                        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(limited.getRetryAfterSeconds()))
+                                .body(limited.getMessage());
+                    }
+                    if (e.getCause() instanceof LoginOverloadedException) {
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, "1")
+                                .body(e.getCause().getMessage());
+                    }
+                    System.out.println("Provider login failed for " + ownername + ": " + e.getMessage());
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                });
     }
 
     // Forgot password
@@ -72,6 +168,13 @@ public class ProviderController {
         String ownername = request.get("ownername");
         String newPassword = request.get("newPassword");
 
+        try {
+            loginThrottle.checkAccount("provider", ownername);
+        } catch (RateLimitedException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(e.getMessage());
+        }
         String result = service.resetPassword(ownername, newPassword);
         if (result.contains("successful")) {
             return ResponseEntity.ok(result);
@@ -80,31 +183,25 @@ public class ProviderController {
         }
     }
 
-    // In ProviderController.java - Update the image endpoint
+    // Provider image served from the image store; the URL is stable so clients revalidate via ETag
     @GetMapping("/images/{id}")
-    public ResponseEntity<?> getProviderImage(@PathVariable int id) {
-        try {
-            byte[] imageData = service.getProviderImage(id);
-            ProviderList provider = service.getProviderById(id);
-
-            if (imageData == null || imageData.length == 0) {
-                // Return a default image or 404 without image data
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body("Image not found for provider ID: " + id);
-            }
-
-            if (provider == null || provider.getImageType() == null) {
-                return ResponseEntity.notFound().build();
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(provider.getImageType()))
-                    .body(imageData);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Error retrieving image: " + e.getMessage());
+    public void getProviderImage(@PathVariable int id,
+                                 @RequestParam(required = false) Integer size,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        Optional<ProviderImageView> image = service.getProviderImage(id);
+        if (image.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Image not found for provider ID: " + id);
+            return;
         }
 
+        ImageRenditions.Variant variant = imageRenditions.select(image.get().getImageHash(), size);
+        Path file = variant.getFile();
+        String contentType = variant.isOriginal() && image.get().getImageType() != null
+                ? image.get().getImageType()
+                : imageStore.detectContentType(file);
+        imageResponseWriter.write(file, variant.getEtag(), contentType,
+                ImageResponseWriter.REVALIDATE, request, response);
     }
 
     // Get provider by ID
@@ -127,6 +224,12 @@ public class ProviderController {
             @RequestParam String phoneno,
             @RequestParam String specializations,
             @RequestParam String availableservices,
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) String openingTime,
+            @RequestParam(required = false) String closingTime,
+            @RequestParam(required = false) Integer slotMinutes,
+            @RequestParam(required = false) Integer slotCapacity,
             @RequestParam(required = false) MultipartFile image) {
 
         try {
@@ -137,6 +240,8 @@ public class ProviderController {
                         .body(Map.of("message", "Provider not found"));
             }
 
+            boolean addressChanged = !Objects.equals(existingProvider.getGarageaddress(), garageaddress);
+
             // Update provider fields
             existingProvider.setGaragename(garagename);
             existingProvider.setOwnername(ownername);
@@ -146,13 +251,32 @@ public class ProviderController {
             existingProvider.setSpecializations(specializations);
             existingProvider.setAvailableservices(availableservices);
 
-            // Handle image upload if provided
-            if (image != null && !image.isEmpty()) {
-                existingProvider.setImageName(image.getOriginalFilename());
-                existingProvider.setImageType(image.getContentType());
-                existingProvider.setImageData(image.getBytes());
+            // Explicit coordinates win; otherwise a changed address is re-geocoded, and the stored
+            // coordinates stay as they are when it is unchanged or the geocoder does not know it
+            if (latitude != null && longitude != null) {
+                existingProvider.setLatitude(latitude);
+                existingProvider.setLongitude(longitude);
+            } else if (addressChanged) {
+                service.relocate(existingProvider);
             }
 
+            // Booking calendar settings (HH:mm); omitted values keep the current setting
+            if (openingTime != null && !openingTime.isBlank()) {
+                existingProvider.setOpeningTime(LocalTime.parse(openingTime));
+            }
+            if (closingTime != null && !closingTime.isBlank()) {
+                existingProvider.setClosingTime(LocalTime.parse(closingTime));
+            }
+            if (slotMinutes != null) {
+                existingProvider.setSlotMinutes(slotMinutes);
+            }
+            if (slotCapacity != null) {
+                existingProvider.setSlotCapacity(slotCapacity);
+            }
+
+            // Handle image upload if provided
+            service.applyImage(existingProvider, image);
+
             // Save updated provider
             ProviderList updatedProvider = service.updateProvider(existingProvider);
 
@@ -165,6 +289,9 @@ public class ProviderController {
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", "Invalid phone number format"));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Invalid time format. Please use HH:mm format."));
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("message", "Failed to process image: " + e.getMessage()));
@@ -1,11 +1,18 @@
 package Vehicle.example.Management.Controller;
 
+import Vehicle.example.Management.Config.TokenAuthFilter;
+import Vehicle.example.Management.DTO.AuthPrincipal;
 import Vehicle.example.Management.List.ServiceDetails;
+import Vehicle.example.Management.List.Update;
+import Vehicle.example.Management.Service.CustomerEventHub;
 import Vehicle.example.Management.Service.ServiceLayer;
+import Vehicle.example.Management.Service.ServiceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,6 +24,9 @@ public class ServiceDetailsController {
     @Autowired
     private ServiceLayer serviceDetailsService;
 
+    @Autowired
+    private CustomerEventHub customerEventHub;
+
     // Get all services for a user
     @GetMapping("/{username}")
     public ResponseEntity<?> getServicesByUsername(@PathVariable String username) {
@@ -43,4 +53,60 @@ public class ServiceDetailsController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    // Live progress for every service of this user, only to that customer's own session (open it with a
+    // stream ticket); heartbeats every 20s keep the stream open
+    @GetMapping(value = "/{username}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamServiceEvents(
+            @PathVariable String username,
+            @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false) AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!principal.isUser() || !username.equals(principal.getName())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(customerEventHub.subscribe(username));
+    }
+
+    // Only the steps after ?after= (a seq from the previous response); an idle poll returns an empty list
+    @GetMapping("/{serviceId}/updates")
+    public ResponseEntity<?> getServiceUpdates(@PathVariable Long serviceId,
+                                               @RequestParam(defaultValue = "0") long after,
+                                               @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(serviceDetailsService.getUpdatesSince(serviceId, after, limit));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("Error fetching updates: " + e.getMessage());
+        }
+    }
+
+    // Technician adds a progress step; subscribed customers receive it immediately.
+    // Only the provider the appointment is booked with may post to its timeline.
+    @PostMapping("/{serviceId}/updates")
+    public ResponseEntity<?> addServiceUpdate(
+            @PathVariable Long serviceId,
+            @RequestBody Update update,
+            @RequestAttribute(name = TokenAuthFilter.PRINCIPAL, required = false) AuthPrincipal principal) {
+        if (principal == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Sign in as the provider to post updates");
+        }
+        if (!principal.isProvider()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only the provider can post updates");
+        }
+        ServiceDetails service = serviceDetailsService.getServiceById(serviceId);
+        if (service == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Service not found with id: " + serviceId);
+        }
+        Integer providerId = serviceDetailsService.getProviderId(service);
+        if (providerId == null || providerId != principal.getId()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("This service is not booked with you");
+        }
+        try {
+            return ResponseEntity.ok(serviceDetailsService.addUpdate(serviceId, update));
+        } catch (ServiceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        }
+    }
+}
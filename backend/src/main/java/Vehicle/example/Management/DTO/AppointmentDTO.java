@@ -12,6 +12,19 @@ public class AppointmentDTO {
     private LocalDate date;
     private LocalTime time;
 
+    public AppointmentDTO() {}
+
+    // JPQL constructor expression used by the history query
+    public AppointmentDTO(Long id, String vehicleName, String serviceType, String status,
+                          LocalDate date, LocalTime time) {
+        this.id = id;
+        this.vehicleName = vehicleName;
+        this.serviceType = serviceType;
+        this.status = status;
+        this.date = date;
+        this.time = time;
+    }
+
     // Getters & Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
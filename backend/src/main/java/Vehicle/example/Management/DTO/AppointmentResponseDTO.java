@@ -18,6 +18,7 @@ public class AppointmentResponseDTO {
     private String providerGarageName;
     private String providerOwnerName;
     private Integer providerId;
+    private Long version;
 
     // Constructors, getters, and setters
     public AppointmentResponseDTO() {}
@@ -26,7 +27,7 @@ public class AppointmentResponseDTO {
                                   String vehicleNumber, String serviceType, LocalDate date,
                                   LocalTime time, String status, String userName,
                                   String userUsername, String providerGarageName,
-                                  String providerOwnerName, Integer providerId) {
+                                  String providerOwnerName, Integer providerId, Long version) {
         this.id = id;
         this.name = name;
         this.phone = phone;
@@ -41,6 +42,7 @@ public class AppointmentResponseDTO {
         this.providerGarageName = providerGarageName;
         this.providerOwnerName = providerOwnerName;
         this.providerId = providerId;
+        this.version = version;
     }
 
     public String getName() {
@@ -155,4 +157,12 @@ public class AppointmentResponseDTO {
         this.providerId = providerId;
     }
 // Getters and setters for all fields...
-}
\ No newline at end of file
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,13 @@
+package Vehicle.example.Management.DTO;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Interface projection of the columns a status transition reads
+public interface AppointmentStatusView {
+    String getStatus();
+    Long getVersion();
+    Integer getProviderId();
+    LocalDate getDate();
+    LocalTime getTime();
+}
@@ -0,0 +1,40 @@
+package Vehicle.example.Management.DTO;
+
+import Vehicle.example.Management.List.UserList;
+
+// Who a session token was issued to. Built from the token alone, so reading it costs no query.
+public class AuthPrincipal {
+
+    public static final String USER = "u";
+    public static final String PROVIDER = "p";
+
+    private final String kind;
+    private final long id;
+    private final String name;
+    private final long expiresAt;
+
+    public AuthPrincipal(String kind, long id, String name, long expiresAt) {
+        this.kind = kind;
+        this.id = id;
+        this.name = name;
+        this.expiresAt = expiresAt;
+    }
+
+    // Detached stand-in with only the key and username: enough to set a user foreign key
+    // (the same trick the booking endpoint uses for providers) without reading the user row
+    public UserList toUserReference() {
+        UserList user = new UserList();
+        user.setId(id);
+        user.setUsername(name);
+        return user;
+    }
+
+    public boolean isUser() { return USER.equals(kind); }
+    public boolean isProvider() { return PROVIDER.equals(kind); }
+
+    public String getKind() { return kind; }
+    public long getId() { return id; }
+    public String getName() { return name; }
+    // Epoch seconds
+    public long getExpiresAt() { return expiresAt; }
+}
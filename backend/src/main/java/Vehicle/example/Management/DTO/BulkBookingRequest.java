@@ -0,0 +1,14 @@
+package Vehicle.example.Management.DTO;
+
+import java.util.List;
+
+public class BulkBookingRequest {
+    private String username;
+    private List<BookAppointmentRequest> appointments;
+
+    // Getters and setters
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public List<BookAppointmentRequest> getAppointments() { return appointments; }
+    public void setAppointments(List<BookAppointmentRequest> appointments) { this.appointments = appointments; }
+}
@@ -0,0 +1,26 @@
+package Vehicle.example.Management.DTO;
+
+import java.util.List;
+
+public class BulkBookingResponse {
+    private int booked;
+    private int rejected;
+    private List<BulkBookingRowResult> results;
+
+    public BulkBookingResponse() {}
+
+    public BulkBookingResponse(List<BulkBookingRowResult> results) {
+        this.results = results;
+        for (BulkBookingRowResult result : results) {
+            if (result.isBooked()) booked++; else rejected++;
+        }
+    }
+
+    // Getters and setters
+    public int getBooked() { return booked; }
+    public void setBooked(int booked) { this.booked = booked; }
+    public int getRejected() { return rejected; }
+    public void setRejected(int rejected) { this.rejected = rejected; }
+    public List<BulkBookingRowResult> getResults() { return results; }
+    public void setResults(List<BulkBookingRowResult> results) { this.results = results; }
+}
@@ -0,0 +1,43 @@
+package Vehicle.example.Management.DTO;
+
+public class BulkBookingRowResult {
+    private int index;
+    private boolean booked;
+    private Long appointmentId;
+    private String date;
+    private String time;
+    private String error;
+
+    public BulkBookingRowResult() {}
+
+    public static BulkBookingRowResult booked(int index, Long appointmentId, String date, String time) {
+        BulkBookingRowResult result = new BulkBookingRowResult();
+        result.index = index;
+        result.booked = true;
+        result.appointmentId = appointmentId;
+        result.date = date;
+        result.time = time;
+        return result;
+    }
+
+    public static BulkBookingRowResult rejected(int index, String error) {
+        BulkBookingRowResult result = new BulkBookingRowResult();
+        result.index = index;
+        result.error = error;
+        return result;
+    }
+
+    // Getters and setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+    public boolean isBooked() { return booked; }
+    public void setBooked(boolean booked) { this.booked = booked; }
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+    public String getDate() { return date; }
+    public void setDate(String date) { this.date = date; }
+    public String getTime() { return time; }
+    public void setTime(String time) { this.time = time; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,24 @@
+package Vehicle.example.Management.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class DayAvailabilityDTO {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+    private List<SlotDTO> slots;
+
+    public DayAvailabilityDTO() {}
+
+    public DayAvailabilityDTO(LocalDate date, List<SlotDTO> slots) {
+        this.date = date;
+        this.slots = slots;
+    }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public List<SlotDTO> getSlots() { return slots; }
+    public void setSlots(List<SlotDTO> slots) { this.slots = slots; }
+}
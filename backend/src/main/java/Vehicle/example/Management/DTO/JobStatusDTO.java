@@ -0,0 +1,73 @@
+package Vehicle.example.Management.DTO;
+
+import Vehicle.example.Management.List.JobCheckpoint;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+public class JobStatusDTO {
+    private String name;
+    private String state;
+    private boolean active;
+    private Long lastId;
+    private long processed;
+    private long fixed;
+    private long unmatched;
+    private double rowsPerSecond;
+    private OffsetDateTime startedAt;
+    private OffsetDateTime updatedAt;
+    private OffsetDateTime finishedAt;
+    private String error;
+
+    public JobStatusDTO() {}
+
+    public JobStatusDTO(String name, JobCheckpoint checkpoint, boolean active) {
+        this.name = name;
+        this.active = active;
+        if (checkpoint == null) {
+            this.state = "never-run";
+            return;
+        }
+        this.state = checkpoint.getState();
+        this.lastId = checkpoint.getLastId();
+        this.processed = checkpoint.getProcessed();
+        this.fixed = checkpoint.getFixed();
+        this.unmatched = checkpoint.getUnmatched();
+        this.startedAt = checkpoint.getStartedAt();
+        this.updatedAt = checkpoint.getUpdatedAt();
+        this.finishedAt = checkpoint.getFinishedAt();
+        this.error = checkpoint.getError();
+
+        OffsetDateTime end = finishedAt != null ? finishedAt : updatedAt;
+        if (startedAt != null && end != null) {
+            long millis = Duration.between(startedAt, end).toMillis();
+            this.rowsPerSecond = millis > 0 ? processed * 1000.0 / millis : 0;
+        }
+    }
+
+    // Getters and setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+    public Long getLastId() { return lastId; }
+    public void setLastId(Long lastId) { this.lastId = lastId; }
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+    public long getFixed() { return fixed; }
+    public void setFixed(long fixed) { this.fixed = fixed; }
+    public long getUnmatched() { return unmatched; }
+    public void setUnmatched(long unmatched) { this.unmatched = unmatched; }
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    public OffsetDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(OffsetDateTime startedAt) { this.startedAt = startedAt; }
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public OffsetDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(OffsetDateTime finishedAt) { this.finishedAt = finishedAt; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
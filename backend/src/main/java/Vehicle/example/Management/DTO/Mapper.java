@@ -2,6 +2,7 @@ package Vehicle.example.Management.DTO;
 
 
 import Vehicle.example.Management.List.Appointment;
+import Vehicle.example.Management.List.ProviderList;
 import Vehicle.example.Management.List.UserList;
 
 import java.util.List;
@@ -52,4 +53,21 @@ public class Mapper {
         dto.setImageType(user.getImageType());
         return dto;
     }
+
+    public static ProviderCatalogDTO toProviderCatalogDTO(ProviderList provider) {
+        return new ProviderCatalogDTO(
+                provider.getId(),
+                provider.getGaragename(),
+                provider.getOwnername(),
+                provider.getGarageaddress(),
+                provider.getEmail(),
+                provider.getPhoneno(),
+                provider.getSpecializations(),
+                provider.getAvailableservices(),
+                provider.getLatitude(),
+                provider.getLongitude(),
+                provider.getImageName(),
+                provider.getImageHash()
+        );
+    }
 }
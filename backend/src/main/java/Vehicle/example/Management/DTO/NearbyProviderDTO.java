@@ -0,0 +1,18 @@
+package Vehicle.example.Management.DTO;
+
+public class NearbyProviderDTO {
+    private ProviderCatalogDTO provider;
+    private double distanceKm;
+
+    public NearbyProviderDTO() {}
+
+    public NearbyProviderDTO(ProviderCatalogDTO provider, double distanceKm) {
+        this.provider = provider;
+        this.distanceKm = distanceKm;
+    }
+
+    public ProviderCatalogDTO getProvider() { return provider; }
+    public void setProvider(ProviderCatalogDTO provider) { this.provider = provider; }
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,19 @@
+package Vehicle.example.Management.DTO;
+
+import Vehicle.example.Management.List.ServicePrice;
+
+import java.util.List;
+
+// Body of GET /api/prices; version doubles as the ETag
+public class PriceCatalogDTO {
+    private final String version;
+    private final List<ServicePrice> entries;
+
+    public PriceCatalogDTO(String version, List<ServicePrice> entries) {
+        this.version = version;
+        this.entries = entries;
+    }
+
+    public String getVersion() { return version; }
+    public List<ServicePrice> getEntries() { return entries; }
+}
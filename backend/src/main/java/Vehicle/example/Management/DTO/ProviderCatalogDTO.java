@@ -0,0 +1,70 @@
+package Vehicle.example.Management.DTO;
+
+// Lightweight provider row for catalog/listing screens: no image bytes, no password
+public class ProviderCatalogDTO {
+
+    // Card-sized rendition (one of ImageRenditions.SIZES)
+    private static final int CARD_IMAGE_SIZE = 256;
+
+    private Integer id;
+    private String garagename;
+    private String ownername;
+    private String garageaddress;
+    private String email;
+    private long phoneno;
+    private String specializations;
+    private String availableservices;
+    private Double latitude;
+    private Double longitude;
+    private String imageUrl;
+
+    public ProviderCatalogDTO() {}
+
+    // Used by JPQL constructor expressions in ProviderRepo
+    public ProviderCatalogDTO(int id, String garagename, String ownername, String garageaddress,
+                              String email, long phoneno, String specializations,
+                              String availableservices, Double latitude, Double longitude,
+                              String imageName, String imageHash) {
+        this.id = id;
+        this.garagename = garagename;
+        this.ownername = ownername;
+        this.garageaddress = garageaddress;
+        this.email = email;
+        this.phoneno = phoneno;
+        this.specializations = specializations;
+        this.availableservices = availableservices;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        // The content-addressed URL changes with the image, so it is served as immutable and cached for good;
+        // images not yet moved to the store fall back to the revalidated per-provider URL
+        if (imageHash != null) {
+            this.imageUrl = "/images/" + imageHash + "?size=" + CARD_IMAGE_SIZE;
+        } else if (imageName != null) {
+            this.imageUrl = "/provider/images/" + id + "?size=" + CARD_IMAGE_SIZE;
+        }
+    }
+
+    // Getters and Setters
+    public Integer getId() { return id; }
+    public void setId(Integer id) { this.id = id; }
+    public String getGaragename() { return garagename; }
+    public void setGaragename(String garagename) { this.garagename = garagename; }
+    public String getOwnername() { return ownername; }
+    public void setOwnername(String ownername) { this.ownername = ownername; }
+    public String getGarageaddress() { return garageaddress; }
+    public void setGarageaddress(String garageaddress) { this.garageaddress = garageaddress; }
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+    public long getPhoneno() { return phoneno; }
+    public void setPhoneno(long phoneno) { this.phoneno = phoneno; }
+    public String getSpecializations() { return specializations; }
+    public void setSpecializations(String specializations) { this.specializations = specializations; }
+    public String getAvailableservices() { return availableservices; }
+    public void setAvailableservices(String availableservices) { this.availableservices = availableservices; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+}
@@ -0,0 +1,90 @@
+package Vehicle.example.Management.DTO;
+
+import Vehicle.example.Management.List.Appointment;
+import Vehicle.example.Management.List.Billing;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+
+// One change on a provider's dashboard feed. Published as a Spring event by the services and
+// pushed to /appointment/provider/{providerId}/events once the surrounding transaction commits.
+public class ProviderEventDTO {
+    public static final String BOOKING = "booking";
+    public static final String STATUS = "status";
+    public static final String PAYMENT = "payment";
+
+    private long id;
+    private String type;
+    private Integer providerId;
+    private Long appointmentId;
+    private Long billingId;
+    private String status;
+    private String vehicleNumber;
+    private String serviceType;
+    private LocalDate date;
+    private LocalTime time;
+    private OffsetDateTime at;
+
+    public ProviderEventDTO() {}
+
+    private ProviderEventDTO(String type, Integer providerId) {
+        this.type = type;
+        this.providerId = providerId;
+        this.at = OffsetDateTime.now();
+    }
+
+    public static ProviderEventDTO booking(Appointment appointment) {
+        ProviderEventDTO event = new ProviderEventDTO(BOOKING, appointment.getProvider().getId());
+        event.appointmentId = appointment.getId();
+        event.status = appointment.getStatus();
+        event.vehicleNumber = appointment.getVehicleNumber();
+        event.serviceType = appointment.getServiceType();
+        event.date = appointment.getDate();
+        event.time = appointment.getTime();
+        return event;
+    }
+
+    public static ProviderEventDTO status(Long appointmentId, Integer providerId, String status,
+                                          LocalDate date, LocalTime time) {
+        ProviderEventDTO event = new ProviderEventDTO(STATUS, providerId);
+        event.appointmentId = appointmentId;
+        event.status = status;
+        event.date = date;
+        event.time = time;
+        return event;
+    }
+
+    public static ProviderEventDTO payment(Billing billing) {
+        ProviderEventDTO event = new ProviderEventDTO(PAYMENT, billing.getProviderId().intValue());
+        event.appointmentId = billing.getAppointmentId();
+        event.billingId = billing.getId();
+        event.status = billing.getPaymentStatus();
+        event.vehicleNumber = billing.getVehicleNumber();
+        return event;
+    }
+
+    // Getters and setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public Integer getProviderId() { return providerId; }
+    public void setProviderId(Integer providerId) { this.providerId = providerId; }
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+    public Long getBillingId() { return billingId; }
+    public void setBillingId(Long billingId) { this.billingId = billingId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getVehicleNumber() { return vehicleNumber; }
+    public void setVehicleNumber(String vehicleNumber) { this.vehicleNumber = vehicleNumber; }
+    public String getServiceType() { return serviceType; }
+    public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
+    public OffsetDateTime getAt() { return at; }
+    public void setAt(OffsetDateTime at) { this.at = at; }
+}
@@ -0,0 +1,7 @@
+package Vehicle.example.Management.DTO;
+
+// Interface projection for image lookups - keeps image_data out of the select list
+public interface ProviderImageView {
+    String getImageHash();
+    String getImageType();
+}
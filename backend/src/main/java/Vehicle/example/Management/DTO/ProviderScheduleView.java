@@ -0,0 +1,12 @@
+package Vehicle.example.Management.DTO;
+
+import java.time.LocalTime;
+
+// Interface projection of a provider's booking calendar settings
+public interface ProviderScheduleView {
+    Integer getId();
+    LocalTime getOpeningTime();
+    LocalTime getClosingTime();
+    Integer getSlotMinutes();
+    Integer getSlotCapacity();
+}
@@ -0,0 +1,62 @@
+package Vehicle.example.Management.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Body of GET /api/billing/revenue. Periods are days ("2025-03-14") or months ("2025-03").
+public class RevenueReportDTO {
+    private final Long providerId;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private final LocalDate from;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private final LocalDate to;
+    private final Totals totals;
+    private final List<Totals> periods;
+    private final List<Totals> serviceMix;
+
+    public RevenueReportDTO(Long providerId, LocalDate from, LocalDate to, Totals totals,
+                            List<Totals> periods, List<Totals> serviceMix) {
+        this.providerId = providerId;
+        this.from = from;
+        this.to = to;
+        this.totals = totals;
+        this.periods = periods;
+        this.serviceMix = serviceMix;
+    }
+
+    public Long getProviderId() { return providerId; }
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public Totals getTotals() { return totals; }
+    public List<Totals> getPeriods() { return periods; }
+    public List<Totals> getServiceMix() { return serviceMix; }
+
+    // Paid and pending sums for one key: a period, a service type, or the whole range (key null)
+    public static class Totals {
+        private final String key;
+        private double paidAmount;
+        private long paidCount;
+        private double pendingAmount;
+        private long pendingCount;
+
+        public Totals(String key) {
+            this.key = key;
+        }
+
+        public void add(double paidAmount, long paidCount, double pendingAmount, long pendingCount) {
+            this.paidAmount += paidAmount;
+            this.paidCount += paidCount;
+            this.pendingAmount += pendingAmount;
+            this.pendingCount += pendingCount;
+        }
+
+        public String getKey() { return key; }
+        public double getPaidAmount() { return paidAmount; }
+        public long getPaidCount() { return paidCount; }
+        public double getPendingAmount() { return pendingAmount; }
+        public long getPendingCount() { return pendingCount; }
+        public double getTotalAmount() { return paidAmount + pendingAmount; }
+    }
+}
@@ -0,0 +1,59 @@
+package Vehicle.example.Management.DTO;
+
+import Vehicle.example.Management.List.Update;
+
+import java.time.OffsetDateTime;
+
+// A change to one of a customer's services, pushed on /api/services/{username}/events.
+// "update" carries the new progress step; "status" carries the new service status.
+public class ServiceProgressEventDTO {
+    public static final String UPDATE = "update";
+    public static final String STATUS = "status";
+
+    private String type;
+    private String username;
+    private Long serviceId;
+    private Long appointmentId;
+    private String status;
+    private Update update;
+    private OffsetDateTime at;
+
+    public ServiceProgressEventDTO() {}
+
+    private ServiceProgressEventDTO(String type, String username) {
+        this.type = type;
+        this.username = username;
+        this.at = OffsetDateTime.now();
+    }
+
+    public static ServiceProgressEventDTO update(String username, Long serviceId, Update update) {
+        ServiceProgressEventDTO event = new ServiceProgressEventDTO(UPDATE, username);
+        event.serviceId = serviceId;
+        event.update = update;
+        return event;
+    }
+
+    public static ServiceProgressEventDTO status(String username, Long serviceId, Long appointmentId, String status) {
+        ServiceProgressEventDTO event = new ServiceProgressEventDTO(STATUS, username);
+        event.serviceId = serviceId;
+        event.appointmentId = appointmentId;
+        event.status = status;
+        return event;
+    }
+
+    // Getters and setters
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public Long getServiceId() { return serviceId; }
+    public void setServiceId(Long serviceId) { this.serviceId = serviceId; }
+    public Long getAppointmentId() { return appointmentId; }
+    public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Update getUpdate() { return update; }
+    public void setUpdate(Update update) { this.update = update; }
+    public OffsetDateTime getAt() { return at; }
+    public void setAt(OffsetDateTime at) { this.at = at; }
+}
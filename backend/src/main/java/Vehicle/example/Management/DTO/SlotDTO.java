@@ -0,0 +1,27 @@
+package Vehicle.example.Management.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalTime;
+
+public class SlotDTO {
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime time;
+    private int capacity;
+    private int remaining;
+
+    public SlotDTO() {}
+
+    public SlotDTO(LocalTime time, int capacity, int remaining) {
+        this.time = time;
+        this.capacity = capacity;
+        this.remaining = remaining;
+    }
+
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+    public int getRemaining() { return remaining; }
+    public void setRemaining(int remaining) { this.remaining = remaining; }
+}
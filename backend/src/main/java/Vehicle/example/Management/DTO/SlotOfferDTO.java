@@ -0,0 +1,47 @@
+package Vehicle.example.Management.DTO;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+// Earliest free slot at one provider, as returned by the first-available search
+public class SlotOfferDTO {
+    private Integer providerId;
+    private String garagename;
+    private String garageaddress;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime time;
+    private int remaining;
+    private Double distanceKm;
+
+    public SlotOfferDTO() {}
+
+    public SlotOfferDTO(Integer providerId, String garagename, String garageaddress, LocalDate date,
+                        LocalTime time, int remaining, Double distanceKm) {
+        this.providerId = providerId;
+        this.garagename = garagename;
+        this.garageaddress = garageaddress;
+        this.date = date;
+        this.time = time;
+        this.remaining = remaining;
+        this.distanceKm = distanceKm;
+    }
+
+    public Integer getProviderId() { return providerId; }
+    public void setProviderId(Integer providerId) { this.providerId = providerId; }
+    public String getGaragename() { return garagename; }
+    public void setGaragename(String garagename) { this.garagename = garagename; }
+    public String getGarageaddress() { return garageaddress; }
+    public void setGarageaddress(String garageaddress) { this.garageaddress = garageaddress; }
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+    public LocalTime getTime() { return time; }
+    public void setTime(LocalTime time) { this.time = time; }
+    public int getRemaining() { return remaining; }
+    public void setRemaining(int remaining) { this.remaining = remaining; }
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+}
@@ -0,0 +1,28 @@
+package Vehicle.example.Management.DTO;
+
+import Vehicle.example.Management.List.Update;
+
+import java.util.List;
+
+// Steps after a cursor. Pass cursor back as ?after= on the next poll; more means another page is ready now.
+public class UpdateFeedDTO {
+    private List<Update> updates;
+    private long cursor;
+    private boolean more;
+
+    public UpdateFeedDTO() {}
+
+    public UpdateFeedDTO(List<Update> updates, long cursor, boolean more) {
+        this.updates = updates;
+        this.cursor = cursor;
+        this.more = more;
+    }
+
+    // Getters and setters
+    public List<Update> getUpdates() { return updates; }
+    public void setUpdates(List<Update> updates) { this.updates = updates; }
+    public long getCursor() { return cursor; }
+    public void setCursor(long cursor) { this.cursor = cursor; }
+    public boolean isMore() { return more; }
+    public void setMore(boolean more) { this.more = more; }
+}
@@ -4,6 +4,7 @@ import Vehicle.example.Management.DTO.Mapper;
 import Vehicle.example.Management.DTO.UserDTO;
 import Vehicle.example.Management.List.UserList;
 
+import Vehicle.example.Management.Service.AppointmentQueryService;
 import Vehicle.example.Management.Service.ServiceClass;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,9 +20,31 @@ public class UserController {
     @Autowired
     private ServiceClass userService;
 
+    @Autowired
+    private AppointmentQueryService appointmentQueryService;
+
+    // Paged, newest-first history, e.g. /api/users/alice/appointments/history?size=20&cursor=...
+    // Same appointments as the endpoint below; undated ones lead the first page
+    // Rows are projected straight from the appointments table; no user or appointment entities are loaded
+    @GetMapping("/users/{username}/appointments/history")
+    public ResponseEntity<?> getAppointmentHistory(@PathVariable String username,
+                                                   @RequestParam(required = false) String cursor,
+                                                   @RequestParam(defaultValue = "20") int size) {
+        Optional<UserList> userOpt = userService.findByUsername(username);
+        if (userOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return ResponseEntity.ok(appointmentQueryService.history(userOpt.get().getId(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/users/{username}/appointments")
     public ResponseEntity<UserDTO> getUserWithAppointments(@PathVariable String username) {
-        Optional<UserList> userOpt = userService.findByUsername(username);
+        // Walks the appointments, so it needs a session-bound row rather than the cached one
+        Optional<UserList> userOpt = userService.loadByUsername(username);
         if (userOpt.isPresent()) {
             UserDTO dto = Mapper.toUserDTO(userOpt.get());
             return ResponseEntity.ok(dto);
@@ -1,11 +1,14 @@
 package Vehicle.example.Management.DTO;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.Date;
 
 public class UserWithoutAppointmentsDTO {
     private Long id;
+    // Accepted on input, never serialized back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String name;
     private String username;
@@ -13,7 +13,15 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(name = "appointments", indexes = {
+        // Keyset order for /appointment/query, alone and behind each equality filter
+        @Index(name = "idx_appt_date_time_id", columnList = "appointment_date, appointment_time, id"),
+        @Index(name = "idx_appt_provider_date_time", columnList = "provider_id, appointment_date, appointment_time, id"),
+        @Index(name = "idx_appt_status_date_time", columnList = "status, appointment_date, appointment_time, id"),
+        @Index(name = "idx_appt_vehicle_number", columnList = "vehicle_number"),
+        // Customer history, newest first: read backwards from the user's latest entry
+        @Index(name = "idx_appt_user_date_id", columnList = "user_id, appointment_date, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -21,8 +29,10 @@ import java.time.OffsetDateTime;
 public class Appointment {
 
 
+    // Pooled sequence: ids are handed out 50 at a time so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_seq")
+    @SequenceGenerator(name = "appointment_seq", sequenceName = "appointment_seq", allocationSize = 50)
     private Long id;
 
     private String name;
@@ -43,8 +53,13 @@ public class Appointment {
     @Column(name = "appointment_time")
     private LocalTime time;
 
+    // Lower-case AppointmentStatus label; change it through AppointmentService.updateStatus
     private String status;
 
+    // Optimistic lock; status transitions check and bump it in one conditional UPDATE
+    @Version
+    private Long version;
+
     private OffsetDateTime createdAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -130,6 +145,14 @@ public class Appointment {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public OffsetDateTime getCreatedAt() {
         return createdAt;
     }
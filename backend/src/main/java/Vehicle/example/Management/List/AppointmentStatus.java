@@ -0,0 +1,85 @@
+package Vehicle.example.Management.List;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Appointment lifecycle: pending -> confirmed -> in-progress -> completed,
+// with cancellation allowed from any state that has not finished.
+// Steps may be skipped going forward (the provider pages start or complete a pending booking
+// directly), but never walked back.
+// Stored in appointments.status as the lower-case label the frontend already compares against.
+public enum AppointmentStatus {
+    PENDING("pending"),
+    CONFIRMED("confirmed"),
+    IN_PROGRESS("in-progress"),
+    COMPLETED("completed"),
+    CANCELLED("cancelled");
+
+    // Labels written before the lifecycle was fixed; SchemaMigrations rewrites stored ones
+    private static final Map<String, AppointmentStatus> LEGACY_LABELS = new LinkedHashMap<>();
+
+    static {
+        LEGACY_LABELS.put("scheduled", PENDING);
+        LEGACY_LABELS.put("booked", PENDING);
+        LEGACY_LABELS.put("requested", PENDING);
+        LEGACY_LABELS.put("approved", CONFIRMED);
+        LEGACY_LABELS.put("accepted", CONFIRMED);
+        LEGACY_LABELS.put("ongoing", IN_PROGRESS);
+        LEGACY_LABELS.put("started", IN_PROGRESS);
+        LEGACY_LABELS.put("inprogress", IN_PROGRESS);
+        LEGACY_LABELS.put("done", COMPLETED);
+        LEGACY_LABELS.put("complete", COMPLETED);
+        LEGACY_LABELS.put("finished", COMPLETED);
+        LEGACY_LABELS.put("canceled", CANCELLED);
+        LEGACY_LABELS.put("rejected", CANCELLED);
+        LEGACY_LABELS.put("declined", CANCELLED);
+    }
+
+    private final String label;
+
+    AppointmentStatus(String label) {
+        this.label = label;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public Set<AppointmentStatus> next() {
+        switch (this) {
+            case PENDING: return EnumSet.of(CONFIRMED, IN_PROGRESS, COMPLETED, CANCELLED);
+            case CONFIRMED: return EnumSet.of(IN_PROGRESS, COMPLETED, CANCELLED);
+            case IN_PROGRESS: return EnumSet.of(COMPLETED, CANCELLED);
+            default: return EnumSet.noneOf(AppointmentStatus.class);
+        }
+    }
+
+    public boolean canMoveTo(AppointmentStatus target) {
+        return next().contains(target);
+    }
+
+    // Accepts labels, enum names and legacy labels in any case ("In-Progress", "IN_PROGRESS",
+    // "Approved"); null means pending
+    public static AppointmentStatus from(String value) {
+        if (value == null || value.isBlank()) {
+            return PENDING;
+        }
+        String normalized = value.trim().toLowerCase().replace('_', '-').replace(' ', '-');
+        for (AppointmentStatus status : values()) {
+            if (status.label.equals(normalized)) {
+                return status;
+            }
+        }
+        AppointmentStatus legacy = LEGACY_LABELS.get(normalized);
+        if (legacy != null) {
+            return legacy;
+        }
+        throw new IllegalArgumentException("Unknown appointment status: " + value);
+    }
+
+    public static Map<String, AppointmentStatus> legacyLabels() {
+        return Map.copyOf(LEGACY_LABELS);
+    }
+}
@@ -0,0 +1,52 @@
+package Vehicle.example.Management.List;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+// Append-only log of appointment status transitions; rows are never updated or deleted
+@Entity
+@Table(name = "appointment_status_events", indexes = {
+        @Index(name = "idx_status_event_appt", columnList = "appointment_id, id")
+})
+public class AppointmentStatusEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "appointment_status_event_seq")
+    @SequenceGenerator(name = "appointment_status_event_seq", sequenceName = "appointment_status_event_seq",
+            allocationSize = 50)
+    private Long id;
+
+    @Column(name = "appointment_id", nullable = false, updatable = false)
+    private Long appointmentId;
+
+    @Column(name = "from_status", length = 20, updatable = false)
+    private String fromStatus;
+
+    @Column(name = "to_status", length = 20, nullable = false, updatable = false)
+    private String toStatus;
+
+    // Appointment version after the transition
+    @Column(updatable = false)
+    private Long version;
+
+    @Column(name = "changed_at", nullable = false, updatable = false)
+    private OffsetDateTime changedAt;
+
+    public AppointmentStatusEvent() {}
+
+    public AppointmentStatusEvent(Long appointmentId, String fromStatus, String toStatus, Long version) {
+        this.appointmentId = appointmentId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.version = version;
+        this.changedAt = OffsetDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public Long getAppointmentId() { return appointmentId; }
+    public String getFromStatus() { return fromStatus; }
+    public String getToStatus() { return toStatus; }
+    public Long getVersion() { return version; }
+    public OffsetDateTime getChangedAt() { return changedAt; }
+}
@@ -6,7 +6,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "billing")
+@Table(name = "billing", indexes = {
+        @Index(name = "idx_billing_user", columnList = "user_id"),
+        @Index(name = "idx_billing_provider_name", columnList = "provider_name"),
+        @Index(name = "idx_billing_status_id", columnList = "payment_status, id")
+}, uniqueConstraints = {
+        // One bill per appointment; its index also serves the by-appointment lookups
+        @UniqueConstraint(name = "uk_billing_appointment", columnNames = "appointment_id")
+})
 public class Billing {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +26,9 @@ public class Billing {
     // Add this field to link billing to appointment
     private Long appointmentId;
 
+    // Appointment's service type; the service-mix key of the revenue rollups
+    private String serviceType;
+
     @Column(name = "appointment_date")
     private String date;
 
@@ -36,7 +46,7 @@ public class Billing {
     private Long providerId;
     private String providerName;
 
-    @OneToMany(mappedBy = "billing", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @OneToMany(mappedBy = "billing", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<ServiceItem> services = new ArrayList<>();
 
     // Constructors
@@ -67,6 +77,9 @@ public class Billing {
     public Long getAppointmentId() { return appointmentId; }
     public void setAppointmentId(Long appointmentId) { this.appointmentId = appointmentId; }
 
+    public String getServiceType() { return serviceType; }
+    public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+
     public String getDate() { return date; }
     public void setDate(String date) { this.date = date; }
 
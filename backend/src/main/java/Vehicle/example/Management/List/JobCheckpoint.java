@@ -0,0 +1,74 @@
+package Vehicle.example.Management.List;
+
+import jakarta.persistence.*;
+
+import java.time.OffsetDateTime;
+
+// Progress of a resumable background job. Written in the same transaction as each chunk,
+// so after a crash the job restarts exactly after the last committed chunk.
+@Entity
+@Table(name = "job_checkpoints")
+public class JobCheckpoint {
+
+    public static final String RUNNING = "running";
+    public static final String COMPLETED = "completed";
+    public static final String FAILED = "failed";
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private String state;
+
+    // Keyset position: highest id already processed
+    @Column(name = "last_id")
+    private Long lastId;
+
+    private long processed;
+    private long fixed;
+    private long unmatched;
+
+    private OffsetDateTime startedAt;
+    private OffsetDateTime updatedAt;
+    private OffsetDateTime finishedAt;
+
+    @Column(length = 1000)
+    private String error;
+
+    public JobCheckpoint() {}
+
+    public JobCheckpoint(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+
+    public Long getLastId() { return lastId; }
+    public void setLastId(Long lastId) { this.lastId = lastId; }
+
+    public long getProcessed() { return processed; }
+    public void setProcessed(long processed) { this.processed = processed; }
+
+    public long getFixed() { return fixed; }
+    public void setFixed(long fixed) { this.fixed = fixed; }
+
+    public long getUnmatched() { return unmatched; }
+    public void setUnmatched(long unmatched) { this.unmatched = unmatched; }
+
+    public OffsetDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(OffsetDateTime startedAt) { this.startedAt = startedAt; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(OffsetDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public OffsetDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(OffsetDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -1,11 +1,16 @@
 package Vehicle.example.Management.List;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalTime;
+
 @Entity
 @Data
 @Table(name = "provider_list")
@@ -21,17 +26,37 @@ public class ProviderList {
     private String garagename;
     private String ownername;
     private String garageaddress;
+    // Accepted on input, never serialized back out
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private String email;
     private long phoneno;
     private String specializations;
     private String availableservices;
 
+    // Garage location; filled from the offline geocoder when the provider does not supply it
+    private Double latitude;
+    private Double longitude;
+
+    // Booking calendar; null means the defaults in SlotCalendar (09:00-18:00, 30 min, 1 bay)
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime openingTime;
+    @JsonFormat(pattern = "HH:mm")
+    private LocalTime closingTime;
+    private Integer slotMinutes;
+    private Integer slotCapacity;
+
     private String imageName;
     private String imageType;
 
+    // SHA-256 of the image in ImageStore
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    // Legacy inline image, drained into ImageStore by ProviderImageMigration
     @Lob
     @Column(name = "image_data")
+    @JsonIgnore
     private byte[] imageData;
 
     public String getGaragename() {
@@ -106,6 +131,54 @@ public class ProviderList {
         this.availableservices = availableservices;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
+    public LocalTime getOpeningTime() {
+        return openingTime;
+    }
+
+    public void setOpeningTime(LocalTime openingTime) {
+        this.openingTime = openingTime;
+    }
+
+    public LocalTime getClosingTime() {
+        return closingTime;
+    }
+
+    public void setClosingTime(LocalTime closingTime) {
+        this.closingTime = closingTime;
+    }
+
+    public Integer getSlotMinutes() {
+        return slotMinutes;
+    }
+
+    public void setSlotMinutes(Integer slotMinutes) {
+        this.slotMinutes = slotMinutes;
+    }
+
+    public Integer getSlotCapacity() {
+        return slotCapacity;
+    }
+
+    public void setSlotCapacity(Integer slotCapacity) {
+        this.slotCapacity = slotCapacity;
+    }
+
     public String getImageName() {
         return imageName;
     }
@@ -122,6 +195,14 @@ public class ProviderList {
         this.imageType = imageType;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
     public byte[] getImageData() {
         return imageData;
     }
@@ -0,0 +1,52 @@
+package Vehicle.example.Management.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// Pre-aggregated billing totals for one provider, service day and service type. Rows are only
+// written by RevenueRollupService (delta MERGEs and the set-based rebuild); JPA just reads them.
+@Entity
+@Table(name = "revenue_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_revenue_rollup", columnNames = {"provider_id", "rollup_day", "service_type"})
+})
+public class RevenueRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "provider_id", nullable = false)
+    private Long providerId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "service_type", nullable = false, length = 100)
+    private String serviceType;
+
+    @Column(name = "paid_amount", nullable = false)
+    private double paidAmount;
+
+    @Column(name = "paid_count", nullable = false)
+    private long paidCount;
+
+    @Column(name = "pending_amount", nullable = false)
+    private double pendingAmount;
+
+    @Column(name = "pending_count", nullable = false)
+    private long pendingCount;
+
+    public RevenueRollup() {}
+
+    public Long getId() { return id; }
+    public Long getProviderId() { return providerId; }
+    public LocalDate getDay() { return day; }
+    public String getServiceType() { return serviceType; }
+    public double getPaidAmount() { return paidAmount; }
+    public long getPaidCount() { return paidCount; }
+    public double getPendingAmount() { return pendingAmount; }
+    public long getPendingCount() { return pendingCount; }
+}
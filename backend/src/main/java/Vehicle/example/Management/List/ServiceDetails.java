@@ -9,13 +9,21 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "service_details")
+@Table(name = "service_details", indexes = {
+        @Index(name = "idx_service_details_username", columnList = "username"),
+        @Index(name = "uk_service_details_appointment", columnList = "appointment_id", unique = true)
+})
 public class ServiceDetails {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_details_seq")
+    @SequenceGenerator(name = "service_details_seq", sequenceName = "service_details_seq", allocationSize = 50)
     private Long id;
 
     private String username; // map the service to user
+
+    // Appointment this timeline was materialized from; null for services created by hand
+    @Column(name = "appointment_id")
+    private Long appointmentId;
     private String vehicleModel;
     private String licensePlate;
     private String serviceType;
@@ -26,8 +34,10 @@ public class ServiceDetails {
     private String technician;
     private String priority;
 
+    // nullable = false lets Hibernate write service_id in the step's INSERT instead of a follow-up UPDATE
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JoinColumn(name = "service_id")
+    @JoinColumn(name = "service_id", nullable = false)
+    @OrderBy("seq ASC")
     private List<Update> updates;
 
     public ServiceDetails() {
@@ -38,6 +48,31 @@ public class ServiceDetails {
         if (this.updates == null) {
             this.updates = new ArrayList<>();
         }
+        // Number steps supplied with a new service in the order given
+        long seq = 0;
+        for (Update update : this.updates) {
+            if (update.getSeq() == null) {
+                update.setSeq(++seq);
+            } else {
+                seq = Math.max(seq, update.getSeq());
+            }
+        }
+    }
+
+    // Adds a step after the current last one. Load the service with ServiceRepo's *ForUpdate
+    // finders first, so two concurrent appends can't take the same seq.
+    public void appendUpdate(Update update) {
+        if (this.updates == null) {
+            this.updates = new ArrayList<>();
+        }
+        long last = 0;
+        for (Update existing : this.updates) {
+            if (existing.getSeq() != null) {
+                last = Math.max(last, existing.getSeq());
+            }
+        }
+        update.setSeq(last + 1);
+        this.updates.add(update);
     }
 
     public String getUsername() {
@@ -56,6 +91,14 @@ public class ServiceDetails {
         this.id = id;
     }
 
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public void setAppointmentId(Long appointmentId) {
+        this.appointmentId = appointmentId;
+    }
+
     public String getVehicleModel() {
         return vehicleModel;
     }
@@ -4,7 +4,10 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "service_item")
+@Table(name = "service_item", indexes = {
+        // Oracle does not index foreign keys on its own; the billing fetch joins go through this
+        @Index(name = "idx_service_item_billing", columnList = "billing_id")
+})
 public class ServiceItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,73 @@
+package Vehicle.example.Management.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+// One row of the price catalog. providerId and vehicleType are optional qualifiers: null means
+// "any", and the most specific active row wins. effectiveTo is exclusive; null means open-ended.
+@Entity
+@Table(name = "service_prices", indexes = {
+        @Index(name = "idx_service_prices_type", columnList = "service_type, provider_id")
+})
+public class ServicePrice {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_price_seq")
+    @SequenceGenerator(name = "service_price_seq", sequenceName = "service_price_seq", allocationSize = 50)
+    private Long id;
+
+    // Lower-case service name, e.g. "oil change"; "*" is the catalog-wide default
+    @Column(name = "service_type", nullable = false, length = 100)
+    private String serviceType;
+
+    @Column(name = "provider_id")
+    private Integer providerId;
+
+    @Column(name = "vehicle_type", length = 50)
+    private String vehicleType;
+
+    @Column(nullable = false)
+    private Double price;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Column(name = "effective_from", nullable = false)
+    private LocalDate effectiveFrom;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @Column(name = "effective_to")
+    private LocalDate effectiveTo;
+
+    public ServicePrice() {}
+
+    public ServicePrice(String serviceType, Integer providerId, String vehicleType, Double price, LocalDate effectiveFrom) {
+        this.serviceType = serviceType;
+        this.providerId = providerId;
+        this.vehicleType = vehicleType;
+        this.price = price;
+        this.effectiveFrom = effectiveFrom;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getServiceType() { return serviceType; }
+    public void setServiceType(String serviceType) { this.serviceType = serviceType; }
+
+    public Integer getProviderId() { return providerId; }
+    public void setProviderId(Integer providerId) { this.providerId = providerId; }
+
+    public String getVehicleType() { return vehicleType; }
+    public void setVehicleType(String vehicleType) { this.vehicleType = vehicleType; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+
+    public LocalDate getEffectiveFrom() { return effectiveFrom; }
+    public void setEffectiveFrom(LocalDate effectiveFrom) { this.effectiveFrom = effectiveFrom; }
+
+    public LocalDate getEffectiveTo() { return effectiveTo; }
+    public void setEffectiveTo(LocalDate effectiveTo) { this.effectiveTo = effectiveTo; }
+}
@@ -4,12 +4,18 @@ package Vehicle.example.Management.List;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.OffsetDateTime;
+
 @Data
 @Entity
-@Table(name = "service_updates")
+@Table(name = "service_updates", indexes = {
+        // Since-cursor reads: WHERE service_id = ? AND seq > ? ORDER BY seq
+        @Index(name = "idx_service_updates_seq", columnList = "service_id, seq")
+})
 public class Update {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "service_update_seq")
+    @SequenceGenerator(name = "service_update_seq", sequenceName = "service_update_seq", allocationSize = 50)
     private Long id;
 
     private String step;
@@ -18,10 +24,27 @@ public class Update {
     private String timestamp;
     private String technician;
 
+    // Position within its service, 1, 2, 3...; the cursor for /api/services/{id}/updates?after=
+    private Long seq;
+
+    // When the step was recorded; timestamp above is the free-text display time
+    private OffsetDateTime createdAt;
+
+    // Read-only view of the join column owned by ServiceDetails.updates
+    @Column(name = "service_id", insertable = false, updatable = false)
+    private Long serviceId;
+
     public Update() {
         // Default constructor
     }
 
+    @PrePersist
+    public void stampCreatedAt() {
+        if (this.createdAt == null) {
+            this.createdAt = OffsetDateTime.now();
+        }
+    }
+
     public String getStep() {
         return step;
     }
@@ -69,4 +92,24 @@ public class Update {
     public void setTechnician(String technician) {
         this.technician = technician;
     }
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(OffsetDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getServiceId() {
+        return serviceId;
+    }
 }
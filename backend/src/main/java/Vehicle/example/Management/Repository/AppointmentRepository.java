@@ -1,16 +1,37 @@
 package Vehicle.example.Management.Repository;
 
+import Vehicle.example.Management.DTO.AppointmentDTO;
+import Vehicle.example.Management.DTO.AppointmentResponseDTO;
+import Vehicle.example.Management.DTO.AppointmentStatusView;
 import Vehicle.example.Management.List.Appointment;
 import Vehicle.example.Management.List.UserList;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+
+    // Listing projection: user and provider columns joined in the same statement, no entities loaded
+    String RESPONSE_DTO_SELECT = "SELECT new Vehicle.example.Management.DTO.AppointmentResponseDTO(" +
+            "a.id, a.name, a.phone, a.vehicleName, a.vehicleNumber, a.serviceType, a.date, a.time, " +
+            "COALESCE(a.status, 'pending'), u.name, u.username, p.garagename, p.ownername, p.id, a.version) " +
+            "FROM Appointment a LEFT JOIN a.user u LEFT JOIN a.provider p ";
+
+    // Customer history rows straight into DTOs; a.user.id is the foreign key column, so no join
+    String HISTORY_SELECT = "SELECT new Vehicle.example.Management.DTO.AppointmentDTO(" +
+            "a.id, a.vehicleName, a.serviceType, COALESCE(a.status, 'pending'), a.date, a.time) " +
+            "FROM Appointment a WHERE a.user.id = :userId ";
+    // Undated bookings sort ahead of every dated one (Oracle's default for DESC, spelled out here)
+    String HISTORY_ORDER = "ORDER BY a.date DESC NULLS FIRST, a.id DESC";
+
     List<Appointment> findByUser(UserList user);
     List<Appointment> findByProviderId(int providerId);
     List<Appointment> findByProviderOwnername(String ownerName);
@@ -26,4 +47,69 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
     // Additional helpful methods
     List<Appointment> findByUserId(Long userId);
     List<Appointment> findByProviderId(Long providerId);
+
+    // Booked seats per (day, time) for the slot calendar; cancelled appointments free their seat
+    @Query("SELECT a.date, a.time, COUNT(a) FROM Appointment a " +
+            "WHERE a.provider.id = :providerId AND a.date BETWEEN :from AND :to AND a.time IS NOT NULL " +
+            "AND (a.status IS NULL OR LOWER(a.status) <> 'cancelled') " +
+            "GROUP BY a.date, a.time")
+    List<Object[]> countActiveBookings(@Param("providerId") int providerId,
+                                       @Param("from") LocalDate from,
+                                       @Param("to") LocalDate to);
+
+    // Same as above for every provider at once; used to warm the calendar at startup
+    @Query("SELECT a.provider.id, a.date, a.time, COUNT(a) FROM Appointment a " +
+            "WHERE a.date BETWEEN :from AND :to AND a.time IS NOT NULL AND a.provider IS NOT NULL " +
+            "AND (a.status IS NULL OR LOWER(a.status) <> 'cancelled') " +
+            "GROUP BY a.provider.id, a.date, a.time")
+    List<Object[]> countActiveBookingsForAllProviders(@Param("from") LocalDate from,
+                                                      @Param("to") LocalDate to);
+
+    @Query(RESPONSE_DTO_SELECT)
+    List<AppointmentResponseDTO> findAllResponseDTOs();
+
+    // Appointments that have no materialized service timeline yet, in id order for batching
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.user LEFT JOIN FETCH a.provider " +
+            "WHERE a.id > :afterId AND NOT EXISTS (SELECT 1 FROM ServiceDetails s WHERE s.appointmentId = a.id) " +
+            "ORDER BY a.id")
+    List<Appointment> findWithoutTimeline(@Param("afterId") long afterId, Pageable pageable);
+
+    // Completed appointments from before bills were created on completion
+    @Query("SELECT a.id FROM Appointment a WHERE a.status = 'completed' AND a.id > :afterId " +
+            "AND NOT EXISTS (SELECT 1 FROM Billing b WHERE b.appointmentId = a.id) ORDER BY a.id")
+    List<Long> findCompletedIdsWithoutBilling(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(HISTORY_SELECT + HISTORY_ORDER)
+    List<AppointmentDTO> findHistory(@Param("userId") Long userId, Pageable pageable);
+
+    // After a dated row: older dates, or the same date with a lower id (undated rows are all behind us)
+    @Query(HISTORY_SELECT + "AND (a.date < :date OR (a.date = :date AND a.id < :id)) " + HISTORY_ORDER)
+    List<AppointmentDTO> findHistoryBefore(@Param("userId") Long userId, @Param("date") LocalDate date,
+                                           @Param("id") Long id, Pageable pageable);
+
+    // After an undated row: the remaining undated rows by id, then every dated row
+    @Query(HISTORY_SELECT + "AND ((a.date IS NULL AND a.id < :id) OR a.date IS NOT NULL) " + HISTORY_ORDER)
+    List<AppointmentDTO> findHistoryBeforeUndated(@Param("userId") Long userId, @Param("id") Long id,
+                                                  Pageable pageable);
+
+    @Query(RESPONSE_DTO_SELECT + "WHERE a.id = :id")
+    Optional<AppointmentResponseDTO> findResponseDTOById(@Param("id") Long id);
+
+    // What a status transition needs to decide, without loading the entity graph
+    @Query("SELECT a.status AS status, a.version AS version, p.id AS providerId, " +
+            "a.date AS date, a.time AS time FROM Appointment a LEFT JOIN a.provider p WHERE a.id = :id")
+    Optional<AppointmentStatusView> findStatusViewById(@Param("id") Long id);
+
+    // Compare-and-set on (status, version): 0 rows means someone else changed the appointment first
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :toStatus, a.version = a.version + 1 " +
+            "WHERE a.id = :id AND a.version = :version AND a.status = :fromStatus")
+    int transitionStatus(@Param("id") Long id, @Param("fromStatus") String fromStatus,
+                         @Param("toStatus") String toStatus, @Param("version") Long version);
+
+    @Query(RESPONSE_DTO_SELECT + "WHERE p.ownername = :ownerName")
+    List<AppointmentResponseDTO> findResponseDTOsByOwnerName(@Param("ownerName") String ownerName);
+
+    @Query(RESPONSE_DTO_SELECT + "WHERE p.id = :providerId")
+    List<AppointmentResponseDTO> findResponseDTOsByProviderId(@Param("providerId") int providerId);
 }
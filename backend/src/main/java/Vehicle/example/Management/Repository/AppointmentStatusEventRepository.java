@@ -0,0 +1,12 @@
+package Vehicle.example.Management.Repository;
+
+import Vehicle.example.Management.List.AppointmentStatusEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AppointmentStatusEventRepository extends JpaRepository<AppointmentStatusEvent, Long> {
+    List<AppointmentStatusEvent> findByAppointmentIdOrderByIdAsc(Long appointmentId);
+}
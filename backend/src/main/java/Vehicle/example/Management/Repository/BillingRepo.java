@@ -1,11 +1,16 @@
 package Vehicle.example.Management.Repository;
 
 import Vehicle.example.Management.List.Billing;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface BillingRepo extends JpaRepository<Billing, Long> {
         List<Billing> findByAppointmentId(Long appointmentId);
@@ -22,6 +27,36 @@ public interface BillingRepo extends JpaRepository<Billing, Long> {
         @Query("SELECT b FROM Billing b WHERE b.vehicleName = :vehicleName AND b.vehicleNumber = :vehicleNumber")
         List<Billing> findByVehicleNameAndVehicleNumber(@Param("vehicleName") String vehicleName,
                                                         @Param("vehicleNumber") String vehicleNumber);
-}
 
+        // Billings with their service items in one statement (no per-billing item query)
+        @Query("SELECT DISTINCT b FROM Billing b LEFT JOIN FETCH b.services WHERE b.userId = :userId ORDER BY b.id")
+        List<Billing> findWithServicesByUserId(@Param("userId") Long userId);
+
+        @Query("SELECT DISTINCT b FROM Billing b LEFT JOIN FETCH b.services WHERE b.providerName = :providerName ORDER BY b.id")
+        List<Billing> findWithServicesByProviderName(@Param("providerName") String providerName);
+
+        @Query("SELECT DISTINCT b FROM Billing b LEFT JOIN FETCH b.services WHERE b.paymentStatus = :paymentStatus ORDER BY b.id")
+        List<Billing> findWithServicesByPaymentStatus(@Param("paymentStatus") String paymentStatus);
+
+        @Query("SELECT DISTINCT b FROM Billing b LEFT JOIN FETCH b.services WHERE b.appointmentId = :appointmentId ORDER BY b.id")
+        List<Billing> findWithServicesByAppointmentId(@Param("appointmentId") Long appointmentId);
 
+        // Paged listing in two statements: a keyset page of ids, then those billings with their items.
+        // Paging the fetch join directly would make Hibernate page in memory.
+        @Query("SELECT b.id FROM Billing b WHERE b.paymentStatus = :paymentStatus AND b.id > :afterId ORDER BY b.id")
+        List<Long> findIdsByPaymentStatus(@Param("paymentStatus") String paymentStatus,
+                                          @Param("afterId") long afterId, Pageable pageable);
+
+        @Query("SELECT DISTINCT b FROM Billing b LEFT JOIN FETCH b.services WHERE b.id IN :ids ORDER BY b.id")
+        List<Billing> findWithServicesByIdIn(@Param("ids") Collection<Long> ids);
+
+        // Payment updates lock the bill so its revenue rollup delta is computed from the committed state
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM Billing b WHERE b.id = :id")
+        Optional<Billing> findByIdForUpdate(@Param("id") Long id);
+
+        // appointment_id is unique, so this is the appointment's bill, locked for the rest of the transaction
+        @Lock(LockModeType.PESSIMISTIC_WRITE)
+        @Query("SELECT b FROM Billing b WHERE b.appointmentId = :appointmentId")
+        Optional<Billing> findByAppointmentIdForUpdate(@Param("appointmentId") Long appointmentId);
+}
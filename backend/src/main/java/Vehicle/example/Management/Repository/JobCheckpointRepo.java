@@ -0,0 +1,7 @@
+package Vehicle.example.Management.Repository;
+
+import Vehicle.example.Management.List.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepo extends JpaRepository<JobCheckpoint, String> {
+}
@@ -1,14 +1,84 @@
 package Vehicle.example.Management.Repository;
 
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import Vehicle.example.Management.DTO.ProviderImageView;
+import Vehicle.example.Management.DTO.ProviderScheduleView;
 import Vehicle.example.Management.List.ProviderList;
 import Vehicle.example.Management.List.UserList;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProviderRepo extends JpaRepository<ProviderList,Integer> {
-    Optional<ProviderList> findByOwnernameAndPassword(String ownername, String password);
     Optional<ProviderList> findByOwnername(String ownername);
+    List<ProviderList> findAllByOwnername(String ownername);
+
+    // Rehash on login; a no-op if the password changed since it was read
+    @Modifying
+    @Transactional
+    @Query("UPDATE ProviderList p SET p.password = :newHash WHERE p.id = :id AND p.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") int id, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
+
+    // Catalog projections - never select image_data or password
+    @Query("SELECT new Vehicle.example.Management.DTO.ProviderCatalogDTO(p.id, p.garagename, p.ownername, " +
+            "p.garageaddress, p.email, p.phoneno, p.specializations, p.availableservices, " +
+            "p.latitude, p.longitude, p.imageName, p.imageHash) " +
+            "FROM ProviderList p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProviderCatalogDTO> findCatalogPage(@Param("afterId") int afterId, Pageable limit);
+
+    @Query("SELECT new Vehicle.example.Management.DTO.ProviderCatalogDTO(p.id, p.garagename, p.ownername, " +
+            "p.garageaddress, p.email, p.phoneno, p.specializations, p.availableservices, " +
+            "p.latitude, p.longitude, p.imageName, p.imageHash) " +
+            "FROM ProviderList p WHERE p.id > :afterId " +
+            "AND LOWER(p.specializations) LIKE LOWER(CONCAT('%', :specialization, '%')) ORDER BY p.id")
+    List<ProviderCatalogDTO> findCatalogPageBySpecialization(@Param("afterId") int afterId,
+                                                             @Param("specialization") String specialization,
+                                                             Pageable limit);
+
+    @Query("SELECT new Vehicle.example.Management.DTO.ProviderCatalogDTO(p.id, p.garagename, p.ownername, " +
+            "p.garageaddress, p.email, p.phoneno, p.specializations, p.availableservices, " +
+            "p.latitude, p.longitude, p.imageName, p.imageHash) " +
+            "FROM ProviderList p ORDER BY p.id")
+    List<ProviderCatalogDTO> findAllCatalogEntries();
+
+    // (id, ownername) for each provider that exists
+    @Query("SELECT p.id, p.ownername FROM ProviderList p WHERE p.id IN :ids")
+    List<Object[]> findOwnernamesByIds(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT p.ownername FROM ProviderList p WHERE p.id = :id")
+    Optional<String> findOwnernameById(@Param("id") int id);
+
+    // Image metadata only; the bytes are served from ImageStore
+    @Query("SELECT p.imageHash AS imageHash, p.imageType AS imageType FROM ProviderList p WHERE p.id = :id")
+    Optional<ProviderImageView> findImageViewById(@Param("id") int id);
+
+    // Providers whose image still sits in the legacy LOB column
+    @Query("SELECT p.id FROM ProviderList p WHERE p.imageHash IS NULL AND p.imageData IS NOT NULL " +
+            "AND p.id > :afterId ORDER BY p.id")
+    List<Integer> findIdsWithLegacyImage(@Param("afterId") int afterId, Pageable limit);
+
+    @Query("SELECT p.imageData FROM ProviderList p WHERE p.id = :id")
+    byte[] findImageDataById(@Param("id") int id);
+
+    @Modifying
+    @Query("UPDATE ProviderList p SET p.imageHash = :hash, p.imageData = NULL WHERE p.id = :id")
+    int moveImageToStore(@Param("id") int id, @Param("hash") String hash);
+
+    @Query("SELECT p.id AS id, p.openingTime AS openingTime, p.closingTime AS closingTime, " +
+            "p.slotMinutes AS slotMinutes, p.slotCapacity AS slotCapacity FROM ProviderList p WHERE p.id = :id")
+    Optional<ProviderScheduleView> findScheduleById(@Param("id") int id);
 
+    @Query("SELECT p.id AS id, p.openingTime AS openingTime, p.closingTime AS closingTime, " +
+            "p.slotMinutes AS slotMinutes, p.slotCapacity AS slotCapacity FROM ProviderList p")
+    List<ProviderScheduleView> findAllSchedules();
 }
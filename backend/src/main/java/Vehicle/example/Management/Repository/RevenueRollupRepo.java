@@ -0,0 +1,12 @@
+package Vehicle.example.Management.Repository;
+
+import Vehicle.example.Management.List.RevenueRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RevenueRollupRepo extends JpaRepository<RevenueRollup, Long> {
+    // Range scan on uk_revenue_rollup: at most days x service types rows
+    List<RevenueRollup> findByProviderIdAndDayBetweenOrderByDayAsc(Long providerId, LocalDate from, LocalDate to);
+}
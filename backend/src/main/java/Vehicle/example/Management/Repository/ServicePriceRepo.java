@@ -0,0 +1,10 @@
+package Vehicle.example.Management.Repository;
+
+import Vehicle.example.Management.List.ServicePrice;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ServicePriceRepo extends JpaRepository<ServicePrice, Long> {
+    List<ServicePrice> findAllByOrderByIdAsc();
+}
@@ -1,10 +1,30 @@
 package Vehicle.example.Management.Repository;
 
 import Vehicle.example.Management.List.ServiceDetails;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ServiceRepo extends JpaRepository<ServiceDetails, Long> {
     List<ServiceDetails> findByUsername(String username);
+
+    // Dashboard read: services and their steps in one statement, via the username index
+    @Query("SELECT DISTINCT s FROM ServiceDetails s LEFT JOIN FETCH s.updates WHERE s.username = :username ORDER BY s.id")
+    List<ServiceDetails> findTimelinesByUsername(@Param("username") String username);
+
+    Optional<ServiceDetails> findByAppointmentId(Long appointmentId);
+
+    // Row lock for appending steps, so each gets the next seq
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ServiceDetails s WHERE s.id = :id")
+    Optional<ServiceDetails> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ServiceDetails s WHERE s.appointmentId = :appointmentId")
+    Optional<ServiceDetails> findByAppointmentIdForUpdate(@Param("appointmentId") Long appointmentId);
 }
@@ -0,0 +1,12 @@
+package Vehicle.example.Management.Repository;
+
+import Vehicle.example.Management.List.Update;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface UpdateRepo extends JpaRepository<Update, Long> {
+    // Steps after a cursor, served from idx_service_updates_seq
+    List<Update> findByServiceIdAndSeqGreaterThanOrderBySeqAsc(Long serviceId, Long seq, Pageable pageable);
+}
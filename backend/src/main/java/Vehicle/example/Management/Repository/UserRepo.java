@@ -2,11 +2,21 @@ package Vehicle.example.Management.Repository;
 
 import Vehicle.example.Management.List.UserList;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 
 @Repository
 public interface UserRepo extends JpaRepository<UserList,Long> {
-    UserList findByusernameAndPassword(String username, String password);
     Optional<UserList> findByUsername(String username);
+
+    // Rehash on login; a no-op if the password changed since it was read
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserList u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
 }
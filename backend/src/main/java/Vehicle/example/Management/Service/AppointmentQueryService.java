@@ -0,0 +1,184 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.AppointmentDTO;
+import Vehicle.example.Management.DTO.AppointmentResponseDTO;
+import Vehicle.example.Management.DTO.CursorPage;
+import Vehicle.example.Management.List.AppointmentStatus;
+import Vehicle.example.Management.Repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Filterable appointment listing with keyset pagination on (appointment_date, appointment_time, id).
+// Each page seeks straight past the cursor through the composite indexes on Appointment,
+// so page N costs the same as page 1.
+@Service
+public class AppointmentQueryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    // A customer's appointments, newest first, keyed on (appointment_date, id) descending.
+    // Every page is one seek into idx_appt_user_date_id, however long the history is.
+    // Appointments without a date come first (they are the not-yet-scheduled ones), so the
+    // history holds the same rows as /users/{username}/appointments.
+    public CursorPage<AppointmentDTO> history(Long userId, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        PageRequest page = PageRequest.of(0, limit + 1);
+
+        List<AppointmentDTO> rows;
+        if (cursor != null && !cursor.isBlank()) {
+            HistoryCursor before = HistoryCursor.decode(cursor);
+            rows = before.date != null
+                    ? appointmentRepository.findHistoryBefore(userId, before.date, before.id, page)
+                    : appointmentRepository.findHistoryBeforeUndated(userId, before.id, page);
+        } else {
+            rows = appointmentRepository.findHistory(userId, page);
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            AppointmentDTO last = rows.get(limit - 1);
+            nextCursor = new HistoryCursor(last.getDate(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    public CursorPage<AppointmentResponseDTO> query(Integer providerId, String status, String serviceType,
+                                                    LocalDate from, LocalDate to, String vehicleNumber,
+                                                    String username, String cursor, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // Only scheduled appointments have a position in the (date, time, id) order
+        StringBuilder jpql = new StringBuilder(AppointmentRepository.RESPONSE_DTO_SELECT)
+                .append("WHERE a.date IS NOT NULL AND a.time IS NOT NULL");
+        Map<String, Object> params = new HashMap<>();
+
+        if (providerId != null) {
+            jpql.append(" AND p.id = :providerId");
+            params.put("providerId", providerId);
+        }
+        if (status != null && !status.isBlank()) {
+            jpql.append(" AND a.status = :status");
+            params.put("status", AppointmentStatus.from(status).label());
+        }
+        if (serviceType != null && !serviceType.isBlank()) {
+            jpql.append(" AND a.serviceType = :serviceType");
+            params.put("serviceType", serviceType);
+        }
+        if (from != null) {
+            jpql.append(" AND a.date >= :from");
+            params.put("from", from);
+        }
+        if (to != null) {
+            jpql.append(" AND a.date <= :to");
+            params.put("to", to);
+        }
+        if (vehicleNumber != null && !vehicleNumber.isBlank()) {
+            jpql.append(" AND a.vehicleNumber = :vehicleNumber");
+            params.put("vehicleNumber", vehicleNumber);
+        }
+        if (username != null && !username.isBlank()) {
+            jpql.append(" AND u.username = :username");
+            params.put("username", username);
+        }
+
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor);
+            jpql.append(" AND (a.date > :cDate OR (a.date = :cDate AND a.time > :cTime)" +
+                    " OR (a.date = :cDate AND a.time = :cTime AND a.id > :cId))");
+            params.put("cDate", after.date);
+            params.put("cTime", after.time);
+            params.put("cId", after.id);
+        }
+
+        jpql.append(" ORDER BY a.date, a.time, a.id");
+
+        TypedQuery<AppointmentResponseDTO> query =
+                entityManager.createQuery(jpql.toString(), AppointmentResponseDTO.class);
+        params.forEach(query::setParameter);
+        // One extra row tells us whether there is a next page
+        query.setMaxResults(limit + 1);
+
+        List<AppointmentResponseDTO> rows = query.getResultList();
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            AppointmentResponseDTO last = rows.get(limit - 1);
+            nextCursor = new Cursor(last.getDate(), last.getTime(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    // Opaque to clients: base64url("date|id"), with "null" for an undated row
+    private static class HistoryCursor {
+        final LocalDate date;
+        final Long id;
+
+        HistoryCursor(LocalDate date, Long id) {
+            this.date = date;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = date + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static HistoryCursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                LocalDate date = "null".equals(parts[0]) ? null : LocalDate.parse(parts[0]);
+                return new HistoryCursor(date, Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    // Opaque to clients: base64url("date|time|id")
+    private static class Cursor {
+        final LocalDate date;
+        final LocalTime time;
+        final Long id;
+
+        Cursor(LocalDate date, LocalTime time, Long id) {
+            this.date = date;
+            this.time = time;
+            this.id = id;
+        }
+
+        String encode() {
+            String raw = date + "|" + time + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String value) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                return new Cursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), Long.parseLong(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+}
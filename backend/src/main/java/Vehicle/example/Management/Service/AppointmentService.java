@@ -1,12 +1,22 @@
 package Vehicle.example.Management.Service;
 
+import Vehicle.example.Management.DTO.AppointmentResponseDTO;
+import Vehicle.example.Management.DTO.AppointmentStatusView;
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import Vehicle.example.Management.DTO.DayAvailabilityDTO;
+import Vehicle.example.Management.DTO.ProviderEventDTO;
 import Vehicle.example.Management.List.Appointment; // CORRECT IMPORT
+import Vehicle.example.Management.List.AppointmentStatus;
+import Vehicle.example.Management.List.AppointmentStatusEvent;
 import Vehicle.example.Management.List.UserList;
 import Vehicle.example.Management.Repository.AppointmentRepository;
-import Vehicle.example.Management.Repository.UserRepo;
+import Vehicle.example.Management.Repository.AppointmentStatusEventRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,27 +24,112 @@ import java.util.Optional;
 public class AppointmentService {
 
     private final AppointmentRepository appointmentRepo;
-    private final UserRepo userRepository;
+    private final SlotCalendar slotCalendar;
+    private final AppointmentStatusEventRepository statusEventRepo;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ServiceLayer serviceLayer;
+    private final BillingService billingService;
 
-    public AppointmentService(AppointmentRepository appointmentRepo, UserRepo userRepository) {
+    public AppointmentService(AppointmentRepository appointmentRepo, SlotCalendar slotCalendar,
+                              AppointmentStatusEventRepository statusEventRepo,
+                              ApplicationEventPublisher eventPublisher, ServiceLayer serviceLayer,
+                              BillingService billingService) {
         this.appointmentRepo = appointmentRepo;
-        this.userRepository = userRepository;
+        this.slotCalendar = slotCalendar;
+        this.statusEventRepo = statusEventRepo;
+        this.eventPublisher = eventPublisher;
+        this.serviceLayer = serviceLayer;
+        this.billingService = billingService;
     }
 
-    // Book appointment by username
+    // Book for a signed-in customer; the session token already identifies the user, so no user row is read
     @Transactional
-    public Appointment bookAppointmentByUsername(Appointment appointment, String username) {
-        Optional<UserList> userOpt = userRepository.findByUsername(username);
-        if (!userOpt.isPresent()) {
-            throw new RuntimeException("User not found with username: " + username);
+    public Appointment bookAppointment(Appointment appointment, AuthPrincipal principal) {
+        return book(appointment, principal.toUserReference());
+    }
+
+    private Appointment book(Appointment appointment, UserList user) {
+        appointment.setUser(user);
+        // Every booking starts at the beginning of the lifecycle
+        appointment.setStatus(AppointmentStatus.PENDING.label());
+
+        // Take a seat in the provider's calendar; the seat is returned if the insert rolls back
+        if (appointment.getProvider() != null && appointment.getDate() != null && appointment.getTime() != null) {
+            LocalTime slotStart = slotCalendar.reserve(appointment.getProvider().getId(),
+                    appointment.getDate(), appointment.getTime());
+            appointment.setTime(slotStart);
+        }
+
+        Appointment saved = appointmentRepo.save(appointment);
+        serviceLayer.materialize(saved);
+        if (saved.getProvider() != null) {
+            eventPublisher.publishEvent(ProviderEventDTO.booking(saved));
+        }
+        return saved;
+    }
+
+    // Move an appointment along its lifecycle. The transition is validated against the state read
+    // here and applied with one conditional UPDATE on (status, version), so a concurrent change
+    // makes this call fail with StatusConflictException instead of being silently overwritten.
+    @Transactional
+    public Optional<AppointmentResponseDTO> updateStatus(Long id, String newStatus, Long expectedVersion) {
+        if (newStatus == null || newStatus.isBlank()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        AppointmentStatus target = AppointmentStatus.from(newStatus);
+
+        Optional<AppointmentStatusView> viewOpt = appointmentRepo.findStatusViewById(id);
+        if (viewOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        AppointmentStatusView view = viewOpt.get();
+        if (expectedVersion != null && !expectedVersion.equals(view.getVersion())) {
+            throw new StatusConflictException("Appointment " + id + " is at version " + view.getVersion() +
+                    ", not " + expectedVersion);
+        }
+
+        AppointmentStatus current = AppointmentStatus.from(view.getStatus());
+        if (current == target) {
+            return appointmentRepo.findResponseDTOById(id);
+        }
+        if (!current.canMoveTo(target)) {
+            throw new StatusConflictException("Cannot change status from " + current.label() +
+                    " to " + target.label());
+        }
+
+        int updated = appointmentRepo.transitionStatus(id, view.getStatus(), target.label(), view.getVersion());
+        if (updated == 0) {
+            throw new StatusConflictException("Appointment " + id + " was changed by another update; reload and retry");
+        }
+
+        // Cancelled appointments give their seat back once the change commits
+        if (target == AppointmentStatus.CANCELLED && view.getProviderId() != null
+                && view.getDate() != null && view.getTime() != null) {
+            slotCalendar.release(view.getProviderId(), view.getDate(), view.getTime());
         }
 
-        appointment.setUser(userOpt.get());
-        if (appointment.getStatus() == null) {
-            appointment.setStatus("Pending");
+        statusEventRepo.save(new AppointmentStatusEvent(id, current.label(), target.label(), view.getVersion() + 1));
+        if (view.getProviderId() != null) {
+            eventPublisher.publishEvent(ProviderEventDTO.status(id, view.getProviderId(), target.label(),
+                    view.getDate(), view.getTime()));
+        }
+        // Customer timeline follows in the same transaction and pushes its own progress event
+        serviceLayer.syncStatus(id, target.label());
+        // The bill is created here, once, rather than by whoever first reads it
+        if (target == AppointmentStatus.COMPLETED) {
+            billingService.createBillingFromAppointment(id);
         }
+        return appointmentRepo.findResponseDTOById(id);
+    }
 
-        return appointmentRepo.save(appointment);
+    public List<AppointmentStatusEvent> getStatusHistory(Long id) {
+        return statusEventRepo.findByAppointmentIdOrderByIdAsc(id);
+    }
+
+    // Free slots for a provider between two dates (inclusive)
+    public List<DayAvailabilityDTO> getAvailability(int providerId, LocalDate from, LocalDate to) {
+        return slotCalendar.availability(providerId, from, to);
     }
 
     // Fetch all appointments
@@ -51,4 +146,17 @@ public class AppointmentService {
     public List<Appointment> getAppointmentsByProviderId(int providerId) {
         return appointmentRepo.findByProviderId(providerId);
     }
+
+    // Listing views: one joined select each, straight into the response DTO
+    public List<AppointmentResponseDTO> getAllAppointmentViews() {
+        return appointmentRepo.findAllResponseDTOs();
+    }
+
+    public List<AppointmentResponseDTO> getAppointmentViewsByOwnerName(String ownerName) {
+        return appointmentRepo.findResponseDTOsByOwnerName(ownerName);
+    }
+
+    public List<AppointmentResponseDTO> getAppointmentViewsByProviderId(int providerId) {
+        return appointmentRepo.findResponseDTOsByProviderId(providerId);
+    }
 }
\ No newline at end of file
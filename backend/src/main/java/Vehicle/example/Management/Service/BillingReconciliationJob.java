@@ -0,0 +1,223 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.JobStatusDTO;
+import Vehicle.example.Management.List.JobCheckpoint;
+import Vehicle.example.Management.Repository.JobCheckpointRepo;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Links billing rows that have no appointment_id to their appointment, in the background.
+// Billings are walked in id order, CHUNK_SIZE at a time: one query for the chunk, one query
+// for every candidate appointment of the chunk, one JDBC batch of updates, and the checkpoint,
+// all in one transaction. A crash loses at most the chunk in flight; the next start resumes.
+@Service
+public class BillingReconciliationJob {
+
+    public static final String JOB_NAME = "billing-appointment-link";
+
+    private static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @Autowired
+    private JobCheckpointRepo checkpointRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicBoolean active = new AtomicBoolean();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "billing-reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // A checkpoint still marked running means the last process died mid-job
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        checkpointRepo.findById(JOB_NAME)
+                .filter(checkpoint -> JobCheckpoint.RUNNING.equals(checkpoint.getState()))
+                .ifPresent(checkpoint -> {
+                    System.out.println("Resuming billing reconciliation after id " + checkpoint.getLastId());
+                    start();
+                });
+    }
+
+    // Starts the job unless it is already running; failed or interrupted runs pick up at their checkpoint
+    public JobStatusDTO start() {
+        if (active.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                try {
+                    run();
+                } finally {
+                    active.set(false);
+                }
+            });
+        }
+        return status();
+    }
+
+    public JobStatusDTO status() {
+        return new JobStatusDTO(JOB_NAME, checkpointRepo.findById(JOB_NAME).orElse(null), active.get());
+    }
+
+    private void run() {
+        JobCheckpoint checkpoint = checkpointRepo.findById(JOB_NAME).orElse(new JobCheckpoint(JOB_NAME));
+        if (checkpoint.getState() == null || JobCheckpoint.COMPLETED.equals(checkpoint.getState())) {
+            // Fresh run
+            checkpoint.setLastId(0L);
+            checkpoint.setProcessed(0);
+            checkpoint.setFixed(0);
+            checkpoint.setUnmatched(0);
+            checkpoint.setStartedAt(OffsetDateTime.now());
+            checkpoint.setFinishedAt(null);
+        }
+        checkpoint.setState(JobCheckpoint.RUNNING);
+        checkpoint.setError(null);
+        checkpoint.setUpdatedAt(OffsetDateTime.now());
+        checkpoint = checkpointRepo.save(checkpoint);
+
+        try {
+            while (true) {
+                JobCheckpoint current = checkpoint;
+                JobCheckpoint next = transactionTemplate.execute(status -> processChunk(current));
+                if (next == null) {
+                    break;
+                }
+                checkpoint = next;
+            }
+            checkpoint = checkpointRepo.findById(JOB_NAME).orElse(checkpoint);
+            checkpoint.setState(JobCheckpoint.COMPLETED);
+            checkpoint.setFinishedAt(OffsetDateTime.now());
+            checkpoint.setUpdatedAt(checkpoint.getFinishedAt());
+            checkpointRepo.save(checkpoint);
+            System.out.println("Billing reconciliation finished: " + checkpoint.getFixed() + " linked, " +
+                    checkpoint.getUnmatched() + " unmatched of " + checkpoint.getProcessed());
+        } catch (RuntimeException e) {
+            JobCheckpoint failed = checkpointRepo.findById(JOB_NAME).orElse(checkpoint);
+            failed.setState(JobCheckpoint.FAILED);
+            failed.setError(String.valueOf(e.getMessage()));
+            failed.setUpdatedAt(OffsetDateTime.now());
+            checkpointRepo.save(failed);
+            System.out.println("Billing reconciliation failed after id " + failed.getLastId() + ": " + e.getMessage());
+        }
+    }
+
+    // One chunk in one transaction; returns the advanced checkpoint, or null when nothing is left
+    private JobCheckpoint processChunk(JobCheckpoint checkpoint) {
+        List<BillingRow> billings = jdbc.query(
+                "SELECT id, vehicle_name, vehicle_number, appointment_date FROM billing " +
+                        "WHERE appointment_id IS NULL AND id > :afterId ORDER BY id FETCH FIRST :limit ROWS ONLY",
+                new MapSqlParameterSource("afterId", checkpoint.getLastId()).addValue("limit", CHUNK_SIZE),
+                (rs, i) -> new BillingRow(rs.getLong("id"), rs.getString("vehicle_name"),
+                        rs.getString("vehicle_number"), rs.getString("appointment_date")));
+        if (billings.isEmpty()) {
+            return null;
+        }
+
+        Set<String> vehicleNumbers = new LinkedHashSet<>();
+        for (BillingRow billing : billings) {
+            if (billing.vehicleName != null && billing.vehicleNumber != null) {
+                vehicleNumbers.add(billing.vehicleNumber);
+            }
+        }
+
+        // Every candidate appointment for the chunk in one statement, grouped by (name, number)
+        Map<String, List<AppointmentRow>> candidates = new HashMap<>();
+        if (!vehicleNumbers.isEmpty()) {
+            jdbc.query("SELECT id, vehicle_name, vehicle_number, appointment_date FROM appointments " +
+                            "WHERE vehicle_number IN (:numbers) ORDER BY id",
+                    new MapSqlParameterSource("numbers", vehicleNumbers),
+                    rs -> {
+                        Date date = rs.getDate("appointment_date");
+                        candidates.computeIfAbsent(key(rs.getString("vehicle_name"), rs.getString("vehicle_number")),
+                                k -> new ArrayList<>())
+                                .add(new AppointmentRow(rs.getLong("id"), date != null ? date.toLocalDate().toString() : null));
+                    });
+        }
+
+        List<MapSqlParameterSource> links = new ArrayList<>();
+        for (BillingRow billing : billings) {
+            List<AppointmentRow> matches = candidates.get(key(billing.vehicleName, billing.vehicleNumber));
+            if (billing.vehicleName == null || billing.vehicleNumber == null || matches == null) {
+                continue;
+            }
+            // Same rule as before: the appointment on the billing's date, otherwise the first one
+            AppointmentRow match = matches.get(0);
+            if (billing.date != null) {
+                for (AppointmentRow candidate : matches) {
+                    if (billing.date.equals(candidate.date)) {
+                        match = candidate;
+                        break;
+                    }
+                }
+            }
+            links.add(new MapSqlParameterSource("appointmentId", match.id).addValue("id", billing.id));
+        }
+
+        if (!links.isEmpty()) {
+            jdbc.batchUpdate("UPDATE billing SET appointment_id = :appointmentId WHERE id = :id AND appointment_id IS NULL",
+                    links.toArray(new MapSqlParameterSource[0]));
+        }
+
+        JobCheckpoint next = checkpointRepo.findById(JOB_NAME).orElse(checkpoint);
+        next.setLastId(billings.get(billings.size() - 1).id);
+        next.setProcessed(next.getProcessed() + billings.size());
+        next.setFixed(next.getFixed() + links.size());
+        next.setUnmatched(next.getUnmatched() + billings.size() - links.size());
+        next.setUpdatedAt(OffsetDateTime.now());
+        return checkpointRepo.save(next);
+    }
+
+    private static String key(String vehicleName, String vehicleNumber) {
+        return vehicleName + "\u0000" + vehicleNumber;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private static class BillingRow {
+        final long id;
+        final String vehicleName;
+        final String vehicleNumber;
+        final String date;
+
+        BillingRow(long id, String vehicleName, String vehicleNumber, String date) {
+            this.id = id;
+            this.vehicleName = vehicleName;
+            this.vehicleNumber = vehicleNumber;
+            this.date = date;
+        }
+    }
+
+    private static class AppointmentRow {
+        final long id;
+        final String date;
+
+        AppointmentRow(long id, String date) {
+            this.id = id;
+            this.date = date;
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package Vehicle.example.Management.Service;
 
+import Vehicle.example.Management.DTO.CursorPage;
+import Vehicle.example.Management.DTO.ProviderEventDTO;
 import Vehicle.example.Management.List.Appointment;
 import Vehicle.example.Management.List.Billing;
 import Vehicle.example.Management.List.ProviderList;
+import Vehicle.example.Management.List.ServiceItem;
 import Vehicle.example.Management.Repository.AppointmentRepository;
 import Vehicle.example.Management.Repository.BillingRepo;
+import Vehicle.example.Management.Service.RevenueRollupService.Contribution;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,25 +27,72 @@ import java.util.Optional;
 @Service
 public class BillingService {
 
+    private static final int MAX_BILLING_PAGE_SIZE = 100;
+    private static final int BACKFILL_BATCH_SIZE = 200;
+
+    // Inserts only when the appointment has no bill yet; uk_billing_appointment settles concurrent inserts
+    private static final String INSERT_IF_ABSENT =
+            "MERGE INTO billing b USING (SELECT ? AS appointment_id FROM dual) s " +
+            "ON (b.appointment_id = s.appointment_id) " +
+            "WHEN NOT MATCHED THEN INSERT (appointment_id, user_id, vehicle_name, vehicle_number, service_type, " +
+            "appointment_date, appointment_time, total_amount, payment_status, provider_id, provider_name) " +
+            "VALUES (s.appointment_id, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private BillingRepo billingRepo;
 
     @Autowired
     private AppointmentRepository appointmentRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PriceCatalog priceCatalog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RevenueRollupService revenueRollups;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Completed appointments that relied on the old create-on-GET get their bill once, at startup
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCompletedAppointments() {
+        int created = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                long from = afterId;
+                List<Long> ids = transactionTemplate.execute(status -> {
+                    List<Long> batch = appointmentRepository.findCompletedIdsWithoutBilling(from,
+                            PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                    batch.forEach(this::createBillingFromAppointment);
+                    return batch;
+                });
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                created += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Billing backfill stopped: " + e.getMessage());
+        }
+        if (created > 0) {
+            System.out.println("Created " + created + " bills for completed appointments");
+        }
+    }
+
     @Transactional
     public List<Billing> getBillingByUser(Long userId) {
         try {
             System.out.println("Fetching billing records for user ID: " + userId);
-            List<Billing> billings = billingRepo.findByUserId(userId);
+            List<Billing> billings = billingRepo.findWithServicesByUserId(userId);
             System.out.println("Found " + billings.size() + " billing records for user " + userId);
-
-            // Initialize lazy collections
-            billings.forEach(b -> {
-                if (b.getServices() != null) {
-                    b.getServices().size(); // Force initialization
-                }
-            });
             return billings;
         } catch (Exception e) {
             System.out.println("Error fetching billing for user " + userId + ": " + e.getMessage());
@@ -44,35 +102,67 @@ public class BillingService {
 
     @Transactional
     public List<Billing> getBillingByProvider(String providerName) {
-        List<Billing> billings = billingRepo.findByProviderName(providerName);
-
-        // Initialize lazy collections
-        billings.forEach(b -> {
-            if (b.getServices() != null) {
-                b.getServices().size(); // Force initialization
-            }
-        });
-
-        return billings;
+        return billingRepo.findWithServicesByProviderName(providerName);
     }
 
+    // A bill submitted for an appointment fills in that appointment's single row instead of adding another
+    @Transactional
     public Billing saveBilling(Billing billing) {
-        return billingRepo.save(billing);
+        if (billing.getAppointmentId() == null) {
+            Billing saved = billingRepo.save(billing);
+            revenueRollups.apply(null, Contribution.of(saved));
+            return saved;
+        }
+        insertIfAbsent(billing);
+        Billing existing = billingRepo.findByAppointmentIdForUpdate(billing.getAppointmentId())
+                .orElseThrow(() -> new RuntimeException("Billing for appointment " + billing.getAppointmentId() + " was not created"));
+        if ("paid".equals(existing.getPaymentStatus())) {
+            throw new RuntimeException("Billing for appointment " + billing.getAppointmentId() + " is already paid");
+        }
+        Contribution before = Contribution.of(existing);
+
+        existing.setUserId(billing.getUserId());
+        existing.setVehicleName(billing.getVehicleName());
+        existing.setVehicleNumber(billing.getVehicleNumber());
+        if (billing.getServiceType() != null) {
+            existing.setServiceType(billing.getServiceType());
+        }
+        existing.setDate(billing.getDate());
+        existing.setTime(billing.getTime());
+        existing.setTotalAmount(billing.getTotalAmount());
+        existing.setProviderId(billing.getProviderId());
+        existing.setProviderName(billing.getProviderName());
+        // Same collection instance, so orphan removal deletes the replaced items
+        existing.getServices().clear();
+        if (billing.getServices() != null) {
+            for (ServiceItem item : billing.getServices()) {
+                item.setId(null);
+                item.setBilling(existing);
+                existing.getServices().add(item);
+            }
+        }
+        Billing saved = billingRepo.save(existing);
+        revenueRollups.apply(before, Contribution.of(saved));
+        return saved;
     }
 
     @Transactional
     public Billing updatePaymentStatus(Long id, String paymentStatus) {
-        Optional<Billing> optionalBilling = billingRepo.findById(id);
+        Optional<Billing> optionalBilling = billingRepo.findByIdForUpdate(id);
 
         if (optionalBilling.isPresent()) {
             Billing billing = optionalBilling.get();
+            Contribution before = Contribution.of(billing);
             billing.setPaymentStatus(paymentStatus);
 
             if ("paid".equals(paymentStatus)) {
                 billing.setPaymentDate(LocalDateTime.now());
             }
 
-            return billingRepo.save(billing);
+            Billing saved = billingRepo.save(billing);
+            revenueRollups.apply(before, Contribution.of(saved));
+            publishPayment(saved);
+            return saved;
         } else {
             throw new RuntimeException("Billing record not found with id: " + id);
         }
@@ -80,10 +170,11 @@ public class BillingService {
 
     @Transactional
     public Billing updatePayment(Long id, String paymentStatus, String paymentMethod) {
-        Optional<Billing> optionalBilling = billingRepo.findById(id);
+        Optional<Billing> optionalBilling = billingRepo.findByIdForUpdate(id);
 
         if (optionalBilling.isPresent()) {
             Billing billing = optionalBilling.get();
+            Contribution before = Contribution.of(billing);
             billing.setPaymentStatus(paymentStatus);
             billing.setPaymentMethod(paymentMethod);
 
@@ -94,12 +185,22 @@ public class BillingService {
                 updateAppointmentStatusIfNeeded(billing.getAppointmentId());
             }
 
-            return billingRepo.save(billing);
+            Billing saved = billingRepo.save(billing);
+            revenueRollups.apply(before, Contribution.of(saved));
+            publishPayment(saved);
+            return saved;
         } else {
             throw new RuntimeException("Billing record not found with id: " + id);
         }
     }
 
+    // Provider dashboard feed; delivered after commit by ProviderEventHub
+    private void publishPayment(Billing billing) {
+        if (billing.getProviderId() != null) {
+            eventPublisher.publishEvent(ProviderEventDTO.payment(billing));
+        }
+    }
+
     // Helper method to update appointment status when payment is completed
     private void updateAppointmentStatusIfNeeded(Long appointmentId) {
         if (appointmentId != null) {
@@ -115,15 +216,8 @@ public class BillingService {
     public List<Billing> getBillingByPaymentStatus(String paymentStatus) {
         try {
             System.out.println("Fetching billing records with payment status: " + paymentStatus);
-            List<Billing> billings = billingRepo.findByPaymentStatus(paymentStatus);
+            List<Billing> billings = billingRepo.findWithServicesByPaymentStatus(paymentStatus);
             System.out.println("Found " + billings.size() + " billing records with status: " + paymentStatus);
-
-            // Initialize lazy collections
-            billings.forEach(b -> {
-                if (b.getServices() != null) {
-                    b.getServices().size(); // Force initialization
-                }
-            });
             return billings;
         } catch (Exception e) {
             System.out.println("Error fetching billing with status " + paymentStatus + ": " + e.getMessage());
@@ -131,35 +225,67 @@ public class BillingService {
         }
     }
 
+    // Keyset page of billings with a status; ids first, then one fetch-join for the page
+    @Transactional
+    public CursorPage<Billing> getBillingPageByPaymentStatus(String paymentStatus, Long afterId, int size) {
+        int limit = Math.max(1, Math.min(size, MAX_BILLING_PAGE_SIZE));
+        List<Long> ids = billingRepo.findIdsByPaymentStatus(paymentStatus, afterId != null ? afterId : 0L,
+                PageRequest.of(0, limit + 1));
+
+        String nextCursor = null;
+        if (ids.size() > limit) {
+            ids = ids.subList(0, limit);
+            nextCursor = String.valueOf(ids.get(limit - 1));
+        }
+        List<Billing> billings = ids.isEmpty() ? List.of() : billingRepo.findWithServicesByIdIn(ids);
+        return new CursorPage<>(billings, nextCursor);
+    }
+
+    // Read only: the bill is created when the appointment is completed, never by a GET
+    @Transactional
     public List<Billing> getBillingByAppointment(Long appointmentId) {
-        List<Billing> billings = billingRepo.findByAppointmentId(appointmentId);
+        return billingRepo.findWithServicesByAppointmentId(appointmentId);
+    }
 
-        // If no billing record exists, create a default one with PROPER appointmentId
-        if (billings.isEmpty()) {
-            Optional<Appointment> appointment = appointmentRepository.findById(appointmentId);
+    // Get-or-create the appointment's bill. The insert is a single MERGE guarded by the unique
+    // key on appointment_id; a concurrent caller that loses the race gets a duplicate-key error,
+    // which only means the row is there now, so both end up reading the same bill.
+    @Transactional
+    public Billing createBillingFromAppointment(Appointment appointment) {
+        insertIfAbsent(buildBillingFromAppointment(appointment));
+        return billingRepo.findByAppointmentIdForUpdate(appointment.getId())
+                .orElseThrow(() -> new RuntimeException("Billing for appointment " + appointment.getId() + " was not created"));
+    }
 
-            if (appointment.isPresent() && "completed".equals(appointment.get().getStatus())) {
-                Billing defaultBilling = createBillingFromAppointment(appointment.get());
-                billings = List.of(billingRepo.save(defaultBilling));
+    private void insertIfAbsent(Billing billing) {
+        try {
+            int inserted = jdbcTemplate.update(INSERT_IF_ABSENT, billing.getAppointmentId(), billing.getUserId(),
+                    billing.getVehicleName(), billing.getVehicleNumber(), billing.getServiceType(), billing.getDate(),
+                    billing.getTime(), billing.getTotalAmount(), billing.getPaymentStatus(), billing.getProviderId(),
+                    billing.getProviderName());
+            if (inserted > 0) {
+                revenueRollups.apply(null, Contribution.of(billing));
             }
+        } catch (DuplicateKeyException e) {
+            System.out.println("Billing for appointment " + billing.getAppointmentId() + " created concurrently, reusing it");
         }
-
-        return billings;
     }
 
-    // NEW METHOD: Create billing from appointment with proper appointmentId
-    @Transactional
-    public Billing createBillingFromAppointment(Appointment appointment) {
+    private Billing buildBillingFromAppointment(Appointment appointment) {
         Billing billing = new Billing();
 
         // CRITICAL: Set the appointmentId properly
         billing.setAppointmentId(appointment.getId());
         billing.setPaymentStatus("pending");
-        billing.setTotalAmount(calculateServiceAmount(appointment.getServiceType()));
+        // Catalog snapshot lookup; no database round trip
+        billing.setTotalAmount(priceCatalog.price(appointment.getServiceType(),
+                appointment.getProvider() != null ? appointment.getProvider().getId() : null,
+                null, appointment.getDate()));
 
         // Set other necessary fields from appointment
         billing.setVehicleName(appointment.getVehicleName());
         billing.setVehicleNumber(appointment.getVehicleNumber());
+        billing.setServiceType(appointment.getServiceType());
 
         // Get user ID from the User object
         if (appointment.getUser() != null) {
@@ -191,7 +317,7 @@ public class BillingService {
             billing.setTime(appointment.getTime().toString());
         }
 
-        return billingRepo.save(billing);
+        return billing;
     }
 
     // Overloaded method to create billing from appointment ID
@@ -205,67 +331,4 @@ public class BillingService {
             return null;
         }
     }
-
-    // Helper method to calculate service amount
-    private Double calculateServiceAmount(String serviceType) {
-        if (serviceType == null) return 2000.00;
-
-        switch (serviceType.toLowerCase()) {
-            case "oil change":
-                return 1500.00;
-            case "tire rotation":
-                return 1200.00;
-            case "brake service":
-                return 3500.00;
-            case "engine diagnostic":
-                return 2500.00;
-            case "general maintenance":
-                return 1800.00;
-            default:
-                return 2000.00;
-        }
-    }
-
-    // Method to fix missing appointment IDs in existing billing records
-    @Transactional
-    public String fixMissingAppointmentIds() {
-        List<Billing> allBillings = billingRepo.findAll();
-        int fixedCount = 0;
-        int alreadyCorrectCount = 0;
-
-        for (Billing billing : allBillings) {
-            if (billing.getAppointmentId() == null) {
-                // Try to find matching appointment by vehicle and date
-                List<Appointment> matchingAppointments = appointmentRepository
-                        .findByVehicleNameAndVehicleNumber(
-                                billing.getVehicleName(),
-                                billing.getVehicleNumber()
-                        );
-
-                // Find the best match based on date
-                Optional<Appointment> bestMatch = matchingAppointments.stream()
-                        .filter(apt -> billing.getDate() == null ||
-                                apt.getDate() != null && apt.getDate().toString().equals(billing.getDate()))
-                        .findFirst();
-
-                if (bestMatch.isPresent()) {
-                    billing.setAppointmentId(bestMatch.get().getId());
-                    billingRepo.save(billing);
-                    fixedCount++;
-                    System.out.println("Fixed billing " + billing.getId() + " with appointment " + bestMatch.get().getId());
-                } else if (!matchingAppointments.isEmpty()) {
-                    // Use first match if no date match found
-                    billing.setAppointmentId(matchingAppointments.get(0).getId());
-                    billingRepo.save(billing);
-                    fixedCount++;
-                    System.out.println("Fixed billing " + billing.getId() + " with appointment " + matchingAppointments.get(0).getId());
-                }
-            } else {
-                alreadyCorrectCount++;
-            }
-        }
-
-        return String.format("Fixed %d billing records. %d records already had appointment IDs.",
-                fixedCount, alreadyCorrectCount);
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,170 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import Vehicle.example.Management.DTO.BookAppointmentRequest;
+import Vehicle.example.Management.DTO.BulkBookingResponse;
+import Vehicle.example.Management.DTO.BulkBookingRowResult;
+import Vehicle.example.Management.DTO.ProviderEventDTO;
+import Vehicle.example.Management.List.Appointment;
+import Vehicle.example.Management.List.AppointmentStatus;
+import Vehicle.example.Management.List.ProviderList;
+import Vehicle.example.Management.List.UserList;
+import Vehicle.example.Management.Repository.ProviderRepo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Fleet booking: one user lookup, one provider existence check, slot reservations in memory,
+// then inserts flushed in JDBC batches. Appointment ids come from a pooled sequence, so
+// Hibernate can group the inserts instead of round-tripping for each generated key.
+@Service
+public class BulkBookingService {
+
+    public static final int MAX_ROWS = 1000;
+
+    // Keep in step with hibernate.jdbc.batch_size
+    private static final int FLUSH_EVERY = 50;
+
+    @Autowired
+    private ProviderRepo providerRepo;
+
+    @Autowired
+    private SlotCalendar slotCalendar;
+
+    @Autowired
+    private ServiceLayer serviceLayer;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rows that fail validation or find their slot full are rejected individually; the rest
+    // commit together. A database failure rolls back the lot and the slot hooks hand the seats back.
+    // The session token identifies the customer, so no user row is read
+    @Transactional
+    public BulkBookingResponse book(AuthPrincipal principal, List<BookAppointmentRequest> rows) {
+        checkSize(rows);
+        return book(principal.toUserReference(), rows);
+    }
+
+    private void checkSize(List<BookAppointmentRequest> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IllegalArgumentException("No appointments to book");
+        }
+        if (rows.size() > MAX_ROWS) {
+            throw new IllegalArgumentException("At most " + MAX_ROWS + " appointments per request");
+        }
+    }
+
+    private BulkBookingResponse book(UserList user, List<BookAppointmentRequest> rows) {
+
+        Set<Integer> requestedProviders = new HashSet<>();
+        for (BookAppointmentRequest row : rows) {
+            if (row != null && row.getProviderId() != null) {
+                requestedProviders.add(row.getProviderId());
+            }
+        }
+        // Existence check and technician names for the timelines in one query
+        Map<Integer, String> providerOwners = new HashMap<>();
+        if (!requestedProviders.isEmpty()) {
+            for (Object[] row : providerRepo.findOwnernamesByIds(requestedProviders)) {
+                providerOwners.put((Integer) row[0], (String) row[1]);
+            }
+        }
+        Set<Integer> knownProviders = providerOwners.keySet();
+
+        List<BulkBookingRowResult> results = new ArrayList<>(rows.size());
+        int pending = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            BookAppointmentRequest row = rows.get(i);
+            String problem = validate(row, knownProviders);
+            if (problem != null) {
+                results.add(BulkBookingRowResult.rejected(i, problem));
+                continue;
+            }
+
+            LocalDate date = LocalDate.parse(row.getDate());
+            LocalTime slotStart;
+            try {
+                slotStart = slotCalendar.reserve(row.getProviderId(), date, LocalTime.parse(row.getTime()));
+            } catch (SlotUnavailableException e) {
+                results.add(BulkBookingRowResult.rejected(i, "Slot not available: " + e.getMessage()));
+                continue;
+            }
+
+            Appointment appointment = new Appointment();
+            appointment.setName(row.getName());
+            appointment.setPhone(row.getPhone());
+            appointment.setVehicleName(row.getVehicleName());
+            appointment.setVehicleNumber(row.getVehicleNumber());
+            appointment.setServiceType(row.getServiceType());
+            appointment.setDate(date);
+            appointment.setTime(slotStart);
+            appointment.setStatus(AppointmentStatus.PENDING.label());
+            appointment.setCreatedAt(OffsetDateTime.now());
+            appointment.setUser(user);
+            // Proxy only; the insert needs nothing but the key
+            appointment.setProvider(entityManager.getReference(ProviderList.class, row.getProviderId()));
+
+            entityManager.persist(appointment);
+            serviceLayer.materialize(appointment, providerOwners.get(row.getProviderId()));
+            eventPublisher.publishEvent(ProviderEventDTO.booking(appointment));
+            results.add(BulkBookingRowResult.booked(i, appointment.getId(), date.toString(), slotStart.toString()));
+
+            if (++pending == FLUSH_EVERY) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        return new BulkBookingResponse(results);
+    }
+
+    private String validate(BookAppointmentRequest row, Set<Integer> knownProviders) {
+        if (row == null) {
+            return "Empty row";
+        }
+        if (row.getVehicleNumber() == null || row.getVehicleNumber().isBlank()) {
+            return "Vehicle number is required";
+        }
+        if (row.getProviderId() == null) {
+            return "Provider is required";
+        }
+        if (!knownProviders.contains(row.getProviderId())) {
+            return "Provider not found: " + row.getProviderId();
+        }
+        if (row.getDate() == null || row.getTime() == null) {
+            return "Date and time are required";
+        }
+        try {
+            LocalDate.parse(row.getDate());
+        } catch (DateTimeParseException e) {
+            return "Invalid date format. Please use YYYY-MM-DD format.";
+        }
+        try {
+            LocalTime.parse(row.getTime());
+        } catch (DateTimeParseException e) {
+            return "Invalid time format. Please use HH:mm format.";
+        }
+        return null;
+    }
+}
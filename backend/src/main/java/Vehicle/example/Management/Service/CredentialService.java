@@ -0,0 +1,153 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.List.ProviderList;
+import Vehicle.example.Management.List.UserList;
+import Vehicle.example.Management.Repository.ProviderRepo;
+import Vehicle.example.Management.Repository.UserRepo;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Logins look the account up by name only and check the password hash on a fixed pool sized to
+// the CPU count. Request threads hand the check off and are released; when the bounded queue is
+// full the login fails fast with LoginOverloadedException instead of piling up behind the CPU.
+@Service
+public class CredentialService {
+
+    private final UserRepo userRepo;
+    private final UserCache userCache;
+    private final ProviderRepo providerRepo;
+    private final PasswordHasher hasher;
+    private final LoginThrottle throttle;
+    private final ThreadPoolExecutor workers;
+
+    public CredentialService(UserRepo userRepo, UserCache userCache, ProviderRepo providerRepo, PasswordHasher hasher, LoginThrottle throttle,
+                             @Value("${app.auth.login-threads:0}") int threads,
+                             @Value("${app.auth.login-queue:256}") int queueSize) {
+        this.userRepo = userRepo;
+        this.userCache = userCache;
+        this.providerRepo = providerRepo;
+        this.hasher = hasher;
+        this.throttle = throttle;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(size, size, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "login-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    // Customer login; a plaintext or outdated hash is replaced with a current one on success
+    public CompletableFuture<Optional<UserList>> loginUser(String username, String password) {
+        try {
+            throttle.checkAccount("user", username);
+        } catch (RateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        Optional<UserList> account = userCache.find(username);
+        return submit(() -> {
+            if (account.isEmpty()) {
+                hasher.burn(password);
+                return Optional.empty();
+            }
+            UserList user = account.get();
+            String stored = user.getPassword();
+            if (!hasher.matches(password, stored)) {
+                return Optional.empty();
+            }
+            if (hasher.needsRehash(stored)) {
+                String upgraded = hasher.hash(password);
+                // Conditional on the old value so a concurrent reset is not overwritten
+                // The cached instance is shared, so the new hash is picked up by reloading, not by mutation
+                if (userRepo.updatePasswordIfUnchanged(user.getId(), stored, upgraded) > 0) {
+                    userCache.invalidate(user.getUsername());
+                }
+            }
+            return Optional.of(user);
+        });
+    }
+
+    // Provider login; owner names are not unique, so every account with the name is tried
+    public CompletableFuture<Optional<ProviderList>> loginProvider(String ownername, String password) {
+        try {
+            throttle.checkAccount("provider", ownername);
+        } catch (RateLimitedException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        List<ProviderList> accounts = ownername != null ? providerRepo.findAllByOwnername(ownername) : List.of();
+        return submit(() -> {
+            if (accounts.isEmpty()) {
+                hasher.burn(password);
+                return Optional.empty();
+            }
+            for (ProviderList provider : accounts) {
+                String stored = provider.getPassword();
+                if (!hasher.matches(password, stored)) {
+                    continue;
+                }
+                if (hasher.needsRehash(stored)) {
+                    String upgraded = hasher.hash(password);
+                    if (providerRepo.updatePasswordIfUnchanged(provider.getId(), stored, upgraded) > 0) {
+                        provider.setPassword(upgraded);
+                    }
+                }
+                return Optional.of(provider);
+            }
+            return Optional.empty();
+        });
+    }
+
+    // Hash for a new or reset password, computed on the same bounded pool; the caller waits
+    public String hashPassword(String password) {
+        if (password == null || password.isEmpty()) {
+            throw new IllegalArgumentException("Password is required");
+        }
+        try {
+            return submit(() -> hasher.hash(password)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    // One password check with no database access; used by LoginBenchmark
+    public CompletableFuture<Boolean> verify(String password, String stored) {
+        return submit(() -> hasher.matches(password, stored));
+    }
+
+    public int getThreads() {
+        return workers.getCorePoolSize();
+    }
+
+    public int getQueueCapacity() {
+        return workers.getQueue().size() + workers.getQueue().remainingCapacity();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, workers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new LoginOverloadedException("Too many logins in progress, try again shortly"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
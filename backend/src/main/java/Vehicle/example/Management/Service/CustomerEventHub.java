@@ -0,0 +1,83 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.ServiceProgressEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Service progress push for customers. One stream per browser tab carries every active service
+// of that user, so the dashboard needs a single connection however many vehicles are in the shop.
+// Heartbeat comments keep proxies from closing idle streams and surface dead sockets; each
+// connection's backlog is capped by SseSubscriber, so a stalled client costs a bounded queue.
+@Service
+public class CustomerEventHub {
+
+    private static final int MAX_PENDING = 128;
+    private static final long EMITTER_TIMEOUT_MS = 60 * 60 * 1000L;
+
+    private final Map<String, Set<SseSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe(String username) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        SseSubscriber subscriber = new SseSubscriber(emitter, senders, MAX_PENDING);
+
+        emitter.onCompletion(() -> remove(username, subscriber));
+        emitter.onTimeout(() -> { remove(username, subscriber); subscriber.close(); });
+        emitter.onError(e -> { remove(username, subscriber); subscriber.close(); });
+
+        subscriber.comment("connected");
+        // compute() keeps the add atomic with heartbeat()'s removal of empty sets
+        subscribers.compute(username, (u, userSubscribers) -> {
+            Set<SseSubscriber> set = userSubscribers != null ? userSubscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        return emitter;
+    }
+
+    // After commit only; a rolled-back step never reaches the customer
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceProgress(ServiceProgressEventDTO event) {
+        Set<SseSubscriber> userSubscribers = event.getUsername() != null ? subscribers.get(event.getUsername()) : null;
+        if (userSubscribers == null) {
+            return;
+        }
+        for (SseSubscriber subscriber : userSubscribers) {
+            subscriber.send(null, event.getType(), event);
+        }
+    }
+
+    // A comment line is a few bytes and ignored by EventSource; a failed write closes the subscriber
+    @Scheduled(fixedRate = 20000)
+    public void heartbeat() {
+        for (String username : subscribers.keySet()) {
+            subscribers.computeIfPresent(username, (u, userSubscribers) -> {
+                userSubscribers.removeIf(SseSubscriber::isClosed);
+                return userSubscribers.isEmpty() ? null : userSubscribers;
+            });
+        }
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.comment("ping")));
+    }
+
+    private void remove(String username, SseSubscriber subscriber) {
+        Set<SseSubscriber> userSubscribers = subscribers.get(username);
+        if (userSubscribers != null) {
+            userSubscribers.remove(subscriber);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(SseSubscriber::close));
+        senders.shutdown();
+    }
+}
@@ -0,0 +1,179 @@
+package Vehicle.example.Management.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Produces fixed-size thumbnails for stored images on a small bounded worker pool.
+// Uploads never wait for this; until a rendition exists the original is served, marked provisional
+// so it is not cached as the final answer for that size.
+@Service
+public class ImageRenditions {
+
+    public static final int[] SIZES = {64, 256, 1024};
+
+    private final ImageStore imageStore;
+    private final ThreadPoolExecutor workers;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    // Hashes whose renditions have been generated by this process; a miss on one of these means the
+    // original is smaller than the requested size and is the final answer
+    private final Cache<String, Boolean> generated = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .build();
+
+    public ImageRenditions(ImageStore imageStore,
+                           @Value("${app.images.rendition-threads:2}") int threads,
+                           @Value("${app.images.rendition-queue:200}") int queueSize) {
+        this.imageStore = imageStore;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                r -> {
+                    Thread t = new Thread(r, "image-rendition-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    // Queue rendition generation for a freshly stored image
+    public void schedule(String hash) {
+        if (!ImageStore.isHash(hash) || !inFlight.add(hash)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    generate(hash);
+                } catch (Exception e) {
+                    System.out.println("Failed to create renditions for image " + hash + ": " + e.getMessage());
+                    // Serve the original from now on rather than retrying on every request
+                    generated.put(hash, Boolean.TRUE);
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+            System.out.println("Rendition queue full, serving original for image " + hash);
+        }
+    }
+
+    // Smallest rendition that covers the requested size, or the original when none fits. A miss on an
+    // image not yet processed (e.g. one moved in by ProviderImageMigration) queues its renditions and
+    // returns the original as provisional.
+    public Variant select(String hash, Integer size) {
+        if (size != null && size > 0) {
+            for (int candidate : SIZES) {
+                if (candidate >= size) {
+                    Path rendition = imageStore.resolveRendition(hash, candidate);
+                    if (Files.isRegularFile(rendition)) {
+                        return new Variant(rendition, "\"" + hash + "-" + candidate + "\"", false, false);
+                    }
+                    if (generated.getIfPresent(hash) == null) {
+                        schedule(hash);
+                        return new Variant(imageStore.resolve(hash), "\"" + hash + "\"", true, true);
+                    }
+                    break;
+                }
+            }
+        }
+        return new Variant(imageStore.resolve(hash), "\"" + hash + "\"", true, false);
+    }
+
+    void generate(String hash) throws IOException {
+        BufferedImage source = ImageIO.read(imageStore.resolve(hash).toFile());
+        if (source == null) {
+            generated.put(hash, Boolean.TRUE);
+            return; // not a format ImageIO can decode
+        }
+        boolean alpha = source.getColorModel().hasAlpha();
+        int longest = Math.max(source.getWidth(), source.getHeight());
+
+        for (int size : SIZES) {
+            Path target = imageStore.resolveRendition(hash, size);
+            // No upscaling: an original smaller than the rendition is served as-is
+            if (longest <= size || Files.exists(target)) {
+                continue;
+            }
+            BufferedImage scaled = scale(source, size, alpha);
+            imageStore.writeAtomically(target, out -> ImageIO.write(scaled, alpha ? "png" : "jpg", out));
+        }
+        generated.put(hash, Boolean.TRUE);
+    }
+
+    // Halve repeatedly before the final bilinear step to keep downscaled thumbnails sharp
+    private BufferedImage scale(BufferedImage source, int size, boolean alpha) {
+        double ratio = (double) size / Math.max(source.getWidth(), source.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                if (!alpha) {
+                    g.setComposite(AlphaComposite.Src);
+                }
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // File chosen for a request, with the ETag that identifies that exact rendition
+    public static class Variant {
+        private final Path file;
+        private final String etag;
+        private final boolean original;
+        private final boolean provisional;
+
+        public Variant(Path file, String etag, boolean original, boolean provisional) {
+            this.file = file;
+            this.etag = etag;
+            this.original = original;
+            this.provisional = provisional;
+        }
+
+        public Path getFile() { return file; }
+        public String getEtag() { return etag; }
+        public boolean isOriginal() { return original; }
+        // Stand-in until the rendition for the requested size exists: revalidate, never cache as immutable
+        public boolean isProvisional() { return provisional; }
+    }
+}
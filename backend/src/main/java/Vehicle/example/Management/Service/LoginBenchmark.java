@@ -0,0 +1,64 @@
+package Vehicle.example.Management.Service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Measures password checks per second through the login pool at the configured cost.
+// Run with: java -jar Management.jar --benchmark-logins[=seconds]
+@Component
+public class LoginBenchmark implements ApplicationRunner {
+
+    private static final int DEFAULT_SECONDS = 10;
+    private static final int WARMUP_CHECKS = 20;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private PasswordHasher hasher;
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!args.containsOption("benchmark-logins")) {
+            return;
+        }
+        List<String> values = args.getOptionValues("benchmark-logins");
+        int seconds = values.isEmpty() || values.get(0).isBlank() ? DEFAULT_SECONDS : Integer.parseInt(values.get(0));
+
+        String password = "benchmark-password";
+        String stored = hasher.hash(password);
+        for (int i = 0; i < WARMUP_CHECKS; i++) {
+            credentialService.verify(password, stored).join();
+        }
+
+        // Keep the queue full without overflowing it
+        int inFlight = credentialService.getThreads() + credentialService.getQueueCapacity() / 2;
+        Semaphore permits = new Semaphore(inFlight);
+        AtomicLong completed = new AtomicLong();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        while (System.nanoTime() < deadline) {
+            permits.acquire();
+            credentialService.verify(password, stored).whenComplete((ok, e) -> {
+                completed.incrementAndGet();
+                permits.release();
+            });
+        }
+        permits.acquire(inFlight);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        double perSecond = completed.get() / elapsed;
+        System.out.printf("Login benchmark: %d checks in %.1fs at %d iterations, %d threads on %d cores: " +
+                        "%.1f logins/s, %.1f logins/s per core%n",
+                completed.get(), elapsed, hasher.getIterations(), credentialService.getThreads(), cores,
+                perSecond, perSecond / cores);
+    }
+}
@@ -0,0 +1,8 @@
+package Vehicle.example.Management.Service;
+
+// Thrown when the password-check queue is full; callers answer 503 and let the client retry
+public class LoginOverloadedException extends RuntimeException {
+    public LoginOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package Vehicle.example.Management.Service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Budgets for the login and password-reset endpoints, per client IP (checked in
+// LoginRateLimitFilter) and per account name (checked before the account is looked up).
+// Both run ahead of any repository call, so a credential-stuffing burst never reaches the pool.
+@Service
+public class LoginThrottle {
+
+    private final TokenBucketLimiter byIp;
+    private final TokenBucketLimiter byAccount;
+
+    public LoginThrottle(@Value("${app.ratelimit.ip.capacity:20}") int ipCapacity,
+                         @Value("${app.ratelimit.ip.per-minute:20}") int ipPerMinute,
+                         @Value("${app.ratelimit.account.capacity:5}") int accountCapacity,
+                         @Value("${app.ratelimit.account.per-minute:5}") int accountPerMinute,
+                         @Value("${app.ratelimit.max-keys:100000}") long maxKeys) {
+        this.byIp = new TokenBucketLimiter(ipCapacity, ipPerMinute, maxKeys);
+        this.byAccount = new TokenBucketLimiter(accountCapacity, accountPerMinute, maxKeys);
+    }
+
+    // Seconds to wait, or 0 when the request may go ahead
+    public long checkIp(String ip) {
+        return byIp.tryAcquire(ip);
+    }
+
+    // kind separates customer usernames from provider owner names
+    public void checkAccount(String kind, String name) {
+        if (name == null || name.isBlank()) {
+            return;
+        }
+        long wait = byAccount.tryAcquire(kind + ":" + name.trim());
+        if (wait > 0) {
+            throw new RateLimitedException("Too many attempts for this account, try again in " + wait + "s", wait);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ip", stats(byIp));
+        stats.put("account", stats(byAccount));
+        return stats;
+    }
+
+    private static Map<String, Long> stats(TokenBucketLimiter limiter) {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("allowed", limiter.getAllowed());
+        counters.put("shed", limiter.getShed());
+        counters.put("trackedKeys", limiter.getTrackedKeys());
+        return counters;
+    }
+}
@@ -0,0 +1,89 @@
+package Vehicle.example.Management.Service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Stand-in geocoder backed by bundled centroid tables (no network calls).
+// A 6-digit PIN code wins; otherwise the last known city name in the address is used.
+@Service
+public class OfflineGeocoder {
+
+    private static final Pattern PINCODE = Pattern.compile("(?<!\\d)(\\d{3})\\s?(\\d{3})(?!\\d)");
+
+    private final Map<String, double[]> pincodePrefixes;
+    private final Map<String, double[]> cities;
+
+    public OfflineGeocoder() throws IOException {
+        this.pincodePrefixes = load("geo/pincode-prefix-centroids.csv");
+        this.cities = load("geo/city-centroids.csv");
+    }
+
+    // Returns {latitude, longitude}
+    public Optional<double[]> geocode(String address) {
+        if (address == null || address.isBlank()) {
+            return Optional.empty();
+        }
+
+        Matcher matcher = PINCODE.matcher(address);
+        double[] byPincode = null;
+        while (matcher.find()) {
+            double[] candidate = pincodePrefixes.get(matcher.group(1));
+            if (candidate != null) {
+                byPincode = candidate;
+            }
+        }
+        if (byPincode != null) {
+            return Optional.of(byPincode.clone());
+        }
+
+        // Try two-word names first ("navi mumbai", "new delhi"), then single words
+        String[] words = address.toLowerCase().split("[^a-z]+");
+        double[] byCity = null;
+        for (int i = 0; i < words.length; i++) {
+            if (words[i].isEmpty()) {
+                continue;
+            }
+            double[] candidate = null;
+            if (i + 1 < words.length) {
+                candidate = cities.get(words[i] + " " + words[i + 1]);
+            }
+            if (candidate == null) {
+                candidate = cities.get(words[i]);
+            }
+            if (candidate != null) {
+                byCity = candidate;
+            }
+        }
+        return Optional.ofNullable(byCity).map(double[]::clone);
+    }
+
+    private static Map<String, double[]> load(String resource) throws IOException {
+        Map<String, double[]> table = new HashMap<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(resource).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] parts = line.split(",");
+                table.put(parts[0].trim(), new double[]{
+                        Double.parseDouble(parts[1].trim()),
+                        Double.parseDouble(parts[2].trim())
+                });
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,207 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.PriceCatalogDTO;
+import Vehicle.example.Management.List.ServicePrice;
+import Vehicle.example.Management.Repository.ServicePriceRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Service prices by (service type x provider x vehicle type) with effective dates.
+// Lookups read an immutable snapshot through one volatile reference, so pricing never touches
+// the database; any change rebuilds the snapshot and swaps it in whole.
+@Service
+public class PriceCatalog {
+
+    public static final String DEFAULT_SERVICE = "*";
+
+    // What the hard-coded switch in BillingService used to charge
+    private static final double FALLBACK_PRICE = 2000.00;
+
+    @Autowired
+    private ServicePriceRepo priceRepo;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    // Ahead of the other ready listeners, since the billing backfill prices from this snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void load() {
+        if (priceRepo.count() == 0) {
+            seedDefaults();
+        }
+        reload();
+    }
+
+    // Picks up edits made by other instances
+    @Scheduled(fixedDelay = 60000, initialDelay = 60000)
+    public void refresh() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            System.out.println("Price catalog refresh failed, keeping version " + snapshot.get().version + ": " + e.getMessage());
+        }
+    }
+
+    public void reload() {
+        List<ServicePrice> rows = new ArrayList<>();
+        for (ServicePrice row : priceRepo.findAllByOrderByIdAsc()) {
+            rows.add(copy(row));
+        }
+        Snapshot next = new Snapshot(rows);
+        Snapshot previous = snapshot.getAndSet(next);
+        if (!next.version.equals(previous.version)) {
+            System.out.println("Price catalog loaded: " + rows.size() + " entries, version " + next.version);
+        }
+    }
+
+    // Most specific active entry for the service on that date; falls back to the "*" entry
+    public double price(String serviceType, Integer providerId, String vehicleType, LocalDate date) {
+        Snapshot current = snapshot.get();
+        LocalDate on = date != null ? date : LocalDate.now();
+        String vehicle = normalize(vehicleType);
+
+        Optional<ServicePrice> match = current.best(normalize(serviceType), providerId, vehicle, on);
+        if (match.isEmpty()) {
+            match = current.best(DEFAULT_SERVICE, providerId, vehicle, on);
+        }
+        return match.map(ServicePrice::getPrice).orElse(FALLBACK_PRICE);
+    }
+
+    public PriceCatalogDTO getCatalog() {
+        Snapshot current = snapshot.get();
+        return new PriceCatalogDTO(current.version, current.entries);
+    }
+
+    public String getVersion() {
+        return snapshot.get().version;
+    }
+
+    public ServicePrice save(ServicePrice price) {
+        if (price.getServiceType() == null || price.getServiceType().isBlank() || price.getPrice() == null) {
+            throw new IllegalArgumentException("serviceType and price are required");
+        }
+        price.setServiceType(normalize(price.getServiceType()));
+        price.setVehicleType(normalize(price.getVehicleType()));
+        if (price.getEffectiveFrom() == null) {
+            price.setEffectiveFrom(LocalDate.now());
+        }
+        if (price.getEffectiveTo() != null && !price.getEffectiveTo().isAfter(price.getEffectiveFrom())) {
+            throw new IllegalArgumentException("effectiveTo must be after effectiveFrom");
+        }
+        ServicePrice saved = priceRepo.save(price);
+        reload();
+        return saved;
+    }
+
+    public Optional<ServicePrice> find(Long id) {
+        return priceRepo.findById(id);
+    }
+
+    public void delete(Long id) {
+        priceRepo.deleteById(id);
+        reload();
+    }
+
+    private void seedDefaults() {
+        LocalDate since = LocalDate.of(2000, 1, 1);
+        priceRepo.saveAll(List.of(
+                new ServicePrice("oil change", null, null, 1500.00, since),
+                new ServicePrice("tire rotation", null, null, 1200.00, since),
+                new ServicePrice("brake service", null, null, 3500.00, since),
+                new ServicePrice("engine diagnostic", null, null, 2500.00, since),
+                new ServicePrice("general maintenance", null, null, 1800.00, since),
+                new ServicePrice(DEFAULT_SERVICE, null, null, FALLBACK_PRICE, since)));
+        System.out.println("Seeded price catalog with the previous fixed prices");
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase();
+    }
+
+    private static ServicePrice copy(ServicePrice row) {
+        ServicePrice copy = new ServicePrice(row.getServiceType(), row.getProviderId(), row.getVehicleType(),
+                row.getPrice(), row.getEffectiveFrom());
+        copy.setId(row.getId());
+        copy.setEffectiveTo(row.getEffectiveTo());
+        return copy;
+    }
+
+    private static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(List.of());
+
+        final String version;
+        final List<ServicePrice> entries;
+        final Map<String, List<ServicePrice>> byServiceType;
+
+        Snapshot(List<ServicePrice> rows) {
+            this.entries = Collections.unmodifiableList(rows);
+            Map<String, List<ServicePrice>> index = new HashMap<>();
+            for (ServicePrice row : rows) {
+                index.computeIfAbsent(row.getServiceType(), k -> new ArrayList<>()).add(row);
+            }
+            this.byServiceType = index;
+            this.version = fingerprint(rows);
+        }
+
+        Optional<ServicePrice> best(String serviceType, Integer providerId, String vehicleType, LocalDate on) {
+            List<ServicePrice> candidates = serviceType != null ? byServiceType.get(serviceType) : null;
+            if (candidates == null) {
+                return Optional.empty();
+            }
+            ServicePrice best = null;
+            int bestScore = -1;
+            for (ServicePrice row : candidates) {
+                if (on.isBefore(row.getEffectiveFrom()) || (row.getEffectiveTo() != null && !on.isBefore(row.getEffectiveTo()))) {
+                    continue;
+                }
+                if (row.getProviderId() != null && !row.getProviderId().equals(providerId)) {
+                    continue;
+                }
+                if (row.getVehicleType() != null && !row.getVehicleType().equals(vehicleType)) {
+                    continue;
+                }
+                // Provider match outranks vehicle match; among equals the newest effective date wins
+                int score = (row.getProviderId() != null ? 2 : 0) + (row.getVehicleType() != null ? 1 : 0);
+                if (score > bestScore || (score == bestScore && row.getEffectiveFrom().isAfter(best.getEffectiveFrom()))) {
+                    best = row;
+                    bestScore = score;
+                }
+            }
+            return Optional.ofNullable(best);
+        }
+
+        // Content hash, so every instance serving the same rows hands out the same ETag
+        private static String fingerprint(List<ServicePrice> rows) {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (ServicePrice row : rows) {
+                    String line = row.getId() + "|" + row.getServiceType() + "|" + row.getProviderId() + "|" +
+                            row.getVehicleType() + "|" + row.getPrice() + "|" + row.getEffectiveFrom() + "|" +
+                            row.getEffectiveTo() + "\n";
+                    digest.update(line.getBytes(StandardCharsets.UTF_8));
+                }
+                return HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
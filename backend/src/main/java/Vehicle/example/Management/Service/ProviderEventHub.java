@@ -0,0 +1,136 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.ProviderEventDTO;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-provider SSE fan-out for the dashboard. Each provider has a bounded replay buffer so a
+// reconnecting EventSource (Last-Event-ID) gets exactly what it missed. Socket writes run on
+// virtual threads, so tens of thousands of mostly idle connections cost a queue each, not a thread.
+// Heartbeat comments keep proxies from closing quiet streams and surface dead sockets.
+@Service
+public class ProviderEventHub {
+
+    public static final String RESYNC = "resync";
+
+    private static final int REPLAY_SIZE = 256;
+    private static final int MAX_PENDING = 512;
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+
+    // Seeded from the clock so ids keep increasing across restarts and stale Last-Event-IDs are detectable
+    private final long firstId = System.currentTimeMillis() * 1000;
+    private final AtomicLong sequence = new AtomicLong(firstId);
+    private final Map<Integer, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe(int providerId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        SseSubscriber subscriber = new SseSubscriber(emitter, senders, MAX_PENDING);
+        Channel channel = channels.computeIfAbsent(providerId, id -> new Channel());
+
+        emitter.onCompletion(() -> channel.remove(subscriber));
+        emitter.onTimeout(() -> { channel.remove(subscriber); subscriber.close(); });
+        emitter.onError(e -> { channel.remove(subscriber); subscriber.close(); });
+
+        // Opens the stream right away so the browser fires onopen
+        subscriber.comment("connected");
+        channel.attach(subscriber, lastEventId);
+        return emitter;
+    }
+
+    // Runs after commit, so a rolled-back booking or status change is never announced
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProviderEvent(ProviderEventDTO event) {
+        if (event.getProviderId() == null) {
+            return;
+        }
+        channels.computeIfAbsent(event.getProviderId(), id -> new Channel()).publish(event);
+    }
+
+    // Same 20s ping as CustomerEventHub; a failed write closes the subscriber and the next pass drops it
+    @Scheduled(fixedRate = 20000)
+    public void heartbeat() {
+        for (Channel channel : channels.values()) {
+            channel.subscribers.removeIf(SseSubscriber::isClosed);
+            channel.subscribers.forEach(subscriber -> subscriber.comment("ping"));
+        }
+    }
+
+    public int subscriberCount() {
+        int count = 0;
+        for (Channel channel : channels.values()) {
+            count += channel.subscribers.size();
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Channel channel : channels.values()) {
+            channel.subscribers.forEach(SseSubscriber::close);
+        }
+        senders.shutdown();
+    }
+
+    private class Channel {
+        private final ArrayDeque<ProviderEventDTO> replay = new ArrayDeque<>();
+        private final Set<SseSubscriber> subscribers = new CopyOnWriteArraySet<>();
+        // Highest id no longer in the replay buffer; anything at or below it can't be replayed
+        private long evictedUpTo = firstId;
+
+        // Under the channel lock, so no event can slip between the replay and the live feed
+        synchronized void attach(SseSubscriber subscriber, Long lastEventId) {
+            if (lastEventId != null) {
+                if (lastEventId < evictedUpTo) {
+                    subscriber.send(null, RESYNC, "Missed events are no longer buffered; reload the appointment list");
+                } else {
+                    for (ProviderEventDTO event : replay) {
+                        if (event.getId() > lastEventId) {
+                            deliver(subscriber, event);
+                        }
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+
+        synchronized void publish(ProviderEventDTO event) {
+            event.setId(sequence.incrementAndGet());
+            replay.addLast(event);
+            if (replay.size() > REPLAY_SIZE) {
+                evictedUpTo = replay.removeFirst().getId();
+            }
+            List<SseSubscriber> gone = new ArrayList<>();
+            for (SseSubscriber subscriber : subscribers) {
+                if (subscriber.isClosed()) {
+                    gone.add(subscriber);
+                } else {
+                    deliver(subscriber, event);
+                }
+            }
+            subscribers.removeAll(gone);
+        }
+
+        void remove(SseSubscriber subscriber) {
+            subscribers.remove(subscriber);
+        }
+
+        private void deliver(SseSubscriber subscriber, ProviderEventDTO event) {
+            subscriber.send(String.valueOf(event.getId()), event.getType(), event);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.NearbyProviderDTO;
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import Vehicle.example.Management.Repository.ProviderRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Fixed grid of 0.1 degree cells (~11 km) holding provider locations in memory.
+// k-nearest queries walk outward ring by ring; radius queries only touch cells in the bounding box.
+@Service
+public class ProviderGeoIndex {
+
+    private static final double CELL_DEG = 0.1;
+    private static final double EARTH_RADIUS_KM = 6371.0;
+    private static final double KM_PER_DEG = Math.PI * EARTH_RADIUS_KM / 180.0;
+    private static final double MAX_SEARCH_KM = 3000.0;
+
+    @Autowired
+    private ProviderRepo providerRepo;
+
+    @Autowired
+    private OfflineGeocoder geocoder;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    private final Map<Integer, Entry> entries = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProviderCatalogDTO> providers = providerRepo.findAllCatalogEntries();
+        lock.writeLock().lock();
+        try {
+            cells.clear();
+            entries.clear();
+            providers.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Provider geo index built with " + entries.size() + " located providers");
+    }
+
+    public void index(ProviderCatalogDTO provider) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(provider.getId());
+            addLocked(provider);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int providerId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(providerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Straight-line distance from a point to a provider, or null if the provider has no location
+    public Double distanceKm(int providerId, double lat, double lon) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(providerId);
+            return entry != null ? haversineKm(lat, lon, entry.lat, entry.lon) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<NearbyProviderDTO> nearest(double lat, double lon, int k, Double maxRadiusKm) {
+        double limitKm = maxRadiusKm != null ? maxRadiusKm : MAX_SEARCH_KM;
+        int centerRow = row(lat);
+        int centerCol = col(lon);
+
+        lock.readLock().lock();
+        try {
+            List<NearbyProviderDTO> found = new ArrayList<>();
+            int seen = 0;
+            for (int ring = 0; seen < entries.size(); ring++) {
+                // Anything outside rings 0..ring-1 is at least this far away
+                double ringFloorKm = (ring - 1) * CELL_DEG * KM_PER_DEG
+                        * Math.cos(Math.toRadians(Math.min(89.0, Math.abs(lat) + ring * CELL_DEG)));
+                if (ringFloorKm > limitKm) {
+                    break;
+                }
+                if (found.size() >= k) {
+                    found.sort(Comparator.comparingDouble(NearbyProviderDTO::getDistanceKm));
+                    if (found.get(k - 1).getDistanceKm() <= ringFloorKm) {
+                        break;
+                    }
+                }
+                for (int r = centerRow - ring; r <= centerRow + ring; r++) {
+                    for (int c = centerCol - ring; c <= centerCol + ring; c++) {
+                        // Only the border of the square is new in this ring
+                        if (Math.abs(r - centerRow) != ring && Math.abs(c - centerCol) != ring) {
+                            continue;
+                        }
+                        List<Entry> cell = cells.get(key(r, c));
+                        if (cell == null) {
+                            continue;
+                        }
+                        for (Entry entry : cell) {
+                            seen++;
+                            double distance = haversineKm(lat, lon, entry.lat, entry.lon);
+                            if (distance <= limitKm) {
+                                found.add(new NearbyProviderDTO(entry.provider, distance));
+                            }
+                        }
+                    }
+                }
+            }
+            found.sort(Comparator.comparingDouble(NearbyProviderDTO::getDistanceKm));
+            return found.size() > k ? new ArrayList<>(found.subList(0, k)) : found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<NearbyProviderDTO> withinRadius(double lat, double lon, double radiusKm) {
+        double latSpan = radiusKm / KM_PER_DEG;
+        double lonSpan = radiusKm / (KM_PER_DEG * Math.max(0.01, Math.cos(Math.toRadians(Math.min(89.0, Math.abs(lat) + latSpan)))));
+
+        lock.readLock().lock();
+        try {
+            List<NearbyProviderDTO> found = new ArrayList<>();
+            for (int r = row(lat - latSpan); r <= row(lat + latSpan); r++) {
+                for (int c = col(lon - lonSpan); c <= col(lon + lonSpan); c++) {
+                    List<Entry> cell = cells.get(key(r, c));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (Entry entry : cell) {
+                        double distance = haversineKm(lat, lon, entry.lat, entry.lon);
+                        if (distance <= radiusKm) {
+                            found.add(new NearbyProviderDTO(entry.provider, distance));
+                        }
+                    }
+                }
+            }
+            found.sort(Comparator.comparingDouble(NearbyProviderDTO::getDistanceKm));
+            return found;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addLocked(ProviderCatalogDTO provider) {
+        Double lat = provider.getLatitude();
+        Double lon = provider.getLongitude();
+        if (lat == null || lon == null) {
+            double[] point = geocoder.geocode(provider.getGarageaddress()).orElse(null);
+            if (point == null) {
+                return;
+            }
+            lat = point[0];
+            lon = point[1];
+        }
+        Entry entry = new Entry(provider, lat, lon);
+        entries.put(provider.getId(), entry);
+        cells.computeIfAbsent(key(row(lat), col(lon)), k -> new ArrayList<>()).add(entry);
+    }
+
+    private void removeLocked(int providerId) {
+        Entry entry = entries.remove(providerId);
+        if (entry == null) {
+            return;
+        }
+        long cellKey = key(row(entry.lat), col(entry.lon));
+        List<Entry> cell = cells.get(cellKey);
+        if (cell != null) {
+            cell.remove(entry);
+            if (cell.isEmpty()) {
+                cells.remove(cellKey);
+            }
+        }
+    }
+
+    private static int row(double lat) {
+        return (int) Math.floor(lat / CELL_DEG);
+    }
+
+    private static int col(double lon) {
+        return (int) Math.floor(lon / CELL_DEG);
+    }
+
+    private static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    private static class Entry {
+        final ProviderCatalogDTO provider;
+        final double lat;
+        final double lon;
+
+        Entry(ProviderCatalogDTO provider, double lat, double lon) {
+            this.provider = provider;
+            this.lat = lat;
+            this.lon = lon;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.Repository.ProviderRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+
+// Drains provider_list.image_data into ImageStore.
+// Run once with: java -jar Management.jar --migrate-provider-images
+@Component
+public class ProviderImageMigration implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private ProviderRepo providerRepo;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ImageRenditions imageRenditions;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("migrate-provider-images")) {
+            int migrated = drainAll();
+            System.out.println("Provider image migration finished: " + migrated + " images moved to " +
+                    "the image store");
+        }
+    }
+
+    // Walks pending providers by id so only one LOB is in memory at a time
+    public int drainAll() {
+        int migrated = 0;
+        int afterId = 0;
+        while (true) {
+            List<Integer> ids = providerRepo.findIdsWithLegacyImage(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (ids.isEmpty()) {
+                return migrated;
+            }
+            for (Integer id : ids) {
+                if (migrate(id)) {
+                    migrated++;
+                }
+                afterId = id;
+            }
+        }
+    }
+
+    // Moves one provider's LOB into the store and queues its thumbnails; also used to migrate lazily
+    // on first image request
+    public boolean migrate(int providerId) {
+        String moved = transactionTemplate.execute(status -> {
+            byte[] data = providerRepo.findImageDataById(providerId);
+            if (data == null || data.length == 0) {
+                return null;
+            }
+            try {
+                String hash = imageStore.store(data);
+                return providerRepo.moveImageToStore(providerId, hash) > 0 ? hash : null;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to migrate image for provider " + providerId, e);
+            }
+        });
+        if (moved == null) {
+            return false;
+        }
+        imageRenditions.schedule(moved);
+        return true;
+    }
+}
@@ -0,0 +1,267 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import Vehicle.example.Management.Repository.ProviderRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory inverted index over provider services, specializations, garage name and address.
+// Built once at startup from ProviderRepo and updated by ProviderService on every save.
+@Service
+public class ProviderSearchIndex {
+
+    // Field weights: what a garage does matters more than where it is
+    private static final float SERVICES_WEIGHT = 3.0f;
+    private static final float SPECIALIZATIONS_WEIGHT = 3.0f;
+    private static final float NAME_WEIGHT = 2.0f;
+    private static final float ADDRESS_WEIGHT = 1.0f;
+
+    // Match-type multipliers
+    private static final float EXACT = 1.0f;
+    private static final float PREFIX = 0.7f;
+    private static final float FUZZY = 0.4f;
+
+    @Autowired
+    private ProviderRepo providerRepo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, ProviderCatalogDTO> docs = new HashMap<>();
+    private final Map<Integer, Set<String>> docTerms = new HashMap<>();
+    // term -> (provider id -> best field weight for that term)
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> termsByLength = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<ProviderCatalogDTO> providers = providerRepo.findAllCatalogEntries();
+        lock.writeLock().lock();
+        try {
+            docs.clear();
+            docTerms.clear();
+            postings.clear();
+            termsByLength.clear();
+            providers.forEach(this::addLocked);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        System.out.println("Provider search index built with " + providers.size() + " providers");
+    }
+
+    public void index(ProviderCatalogDTO provider) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(provider.getId());
+            addLocked(provider);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int providerId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(providerId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public ProviderCatalogDTO get(int providerId) {
+        lock.readLock().lock();
+        try {
+            return docs.get(providerId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Providers carrying all of the given tokens (exact or prefix), e.g. a service type
+    public Set<Integer> providersMatchingAll(String text) {
+        List<String> tokens = tokenize(text);
+        lock.readLock().lock();
+        try {
+            Set<Integer> result = null;
+            for (String token : tokens) {
+                Set<Integer> ids = new HashSet<>();
+                for (Map<Integer, Float> posting : postings.subMap(token, true, token + Character.MAX_VALUE, true).values()) {
+                    ids.addAll(posting.keySet());
+                }
+                if (result == null) {
+                    result = ids;
+                } else {
+                    result.retainAll(ids);
+                }
+            }
+            return result != null ? result : new HashSet<>(docs.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProviderCatalogDTO> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, float[]> scores = new HashMap<>(); // id -> {score, matched tokens}
+            for (String token : tokens) {
+                Map<Integer, Float> best = new HashMap<>();
+                collect(postings.get(token), EXACT, best);
+
+                for (Map.Entry<String, Map<Integer, Float>> entry
+                        : postings.subMap(token, false, token + Character.MAX_VALUE, true).entrySet()) {
+                    collect(entry.getValue(), PREFIX, best);
+                }
+
+                // Only fall back to typo tolerance when the token matched nothing literally
+                if (best.isEmpty()) {
+                    int maxEdits = token.length() >= 8 ? 2 : token.length() >= 4 ? 1 : 0;
+                    for (int len = token.length() - maxEdits; maxEdits > 0 && len <= token.length() + maxEdits; len++) {
+                        for (String term : termsByLength.getOrDefault(len, Set.of())) {
+                            if (withinDistance(token, term, maxEdits)) {
+                                collect(postings.get(term), FUZZY, best);
+                            }
+                        }
+                    }
+                }
+
+                best.forEach((id, score) -> {
+                    float[] acc = scores.computeIfAbsent(id, k -> new float[2]);
+                    acc[0] += score;
+                    acc[1] += 1;
+                });
+            }
+
+            // Rank by how many query tokens matched, then by weighted score
+            List<Map.Entry<Integer, float[]>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Comparator.<Map.Entry<Integer, float[]>>comparingDouble(e -> -e.getValue()[1])
+                    .thenComparingDouble(e -> -e.getValue()[0])
+                    .thenComparing(Map.Entry::getKey));
+
+            List<ProviderCatalogDTO> results = new ArrayList<>();
+            for (Map.Entry<Integer, float[]> entry : ranked) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                results.add(docs.get(entry.getKey()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collect(Map<Integer, Float> posting, float matchWeight, Map<Integer, Float> best) {
+        if (posting == null) {
+            return;
+        }
+        posting.forEach((id, fieldWeight) -> best.merge(id, fieldWeight * matchWeight, Math::max));
+    }
+
+    private void addLocked(ProviderCatalogDTO provider) {
+        int id = provider.getId();
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, provider.getAvailableservices(), SERVICES_WEIGHT);
+        addField(terms, provider.getSpecializations(), SPECIALIZATIONS_WEIGHT);
+        addField(terms, provider.getGaragename(), NAME_WEIGHT);
+        addField(terms, provider.getGarageaddress(), ADDRESS_WEIGHT);
+
+        terms.forEach((term, weight) -> {
+            postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight);
+            termsByLength.computeIfAbsent(term.length(), l -> new HashSet<>()).add(term);
+        });
+        docs.put(id, provider);
+        docTerms.put(id, terms.keySet());
+    }
+
+    private void removeLocked(int id) {
+        docs.remove(id);
+        Set<String> terms = docTerms.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Integer, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                    Set<String> sameLength = termsByLength.get(term.length());
+                    if (sameLength != null) {
+                        sameLength.remove(term);
+                    }
+                }
+            }
+        }
+    }
+
+    private void addField(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    // Lowercase, split on anything that is not a letter or digit, drop one-character noise
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (token.length() >= 2) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // Bounded Damerau-Levenshtein (optimal string alignment); bails out once a row exceeds max
+    static boolean withinDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return false;
+        }
+        int[] prevPrev = new int[b.length() + 1];
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(prev[j] + 1, curr[j - 1] + 1), prev[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, prevPrev[j - 2] + 1);
+                }
+                curr[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] tmp = prevPrev;
+            prevPrev = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[b.length()] <= max;
+    }
+}
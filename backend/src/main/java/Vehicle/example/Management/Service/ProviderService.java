@@ -1,8 +1,14 @@
 package Vehicle.example.Management.Service;
 
+import Vehicle.example.Management.DTO.CursorPage;
+import Vehicle.example.Management.DTO.Mapper;
+import Vehicle.example.Management.DTO.NearbyProviderDTO;
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import Vehicle.example.Management.DTO.ProviderImageView;
 import Vehicle.example.Management.List.ProviderList;
 import Vehicle.example.Management.Repository.ProviderRepo;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -16,25 +22,86 @@ public class ProviderService {
     @Autowired
     private ProviderRepo repo;
 
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ProviderImageMigration imageMigration;
+
+    @Autowired
+    private ImageRenditions imageRenditions;
+
+    @Autowired
+    private ProviderSearchIndex searchIndex;
+
+    @Autowired
+    private ProviderGeoIndex geoIndex;
+
+    @Autowired
+    private OfflineGeocoder geocoder;
+
+    @Autowired
+    private SlotCalendar slotCalendar;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+
     // Get all providers
     public List<ProviderList> getAllProviders() {
         return repo.findAll();
     }
 
+    // Catalog page keyed on provider id; cursor is the last id of the previous page
+    public CursorPage<ProviderCatalogDTO> getCatalog(Integer afterId, int size, String specialization) {
+        int limit = Math.max(1, Math.min(size, MAX_CATALOG_PAGE_SIZE));
+        int after = afterId != null ? afterId : 0;
+
+        // Fetch one extra row to know whether another page exists
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<ProviderCatalogDTO> rows = (specialization == null || specialization.isBlank())
+                ? repo.findCatalogPage(after, page)
+                : repo.findCatalogPageBySpecialization(after, specialization.trim(), page);
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = String.valueOf(rows.get(limit - 1).getId());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    // Ranked provider search over services, specializations, name and address
+    public List<ProviderCatalogDTO> search(String query, int limit) {
+        return searchIndex.search(query, Math.max(1, Math.min(limit, MAX_CATALOG_PAGE_SIZE)));
+    }
+
+    // Whole catalog without image bytes (used by the booking dropdown)
+    public List<ProviderCatalogDTO> getCatalogEntries() {
+        return repo.findAllCatalogEntries();
+    }
+
     // Register provider with image
     public ProviderList registerProvider(ProviderList provider, MultipartFile image) throws IOException {
+        provider.setPassword(credentialService.hashPassword(provider.getPassword()));
+        applyImage(provider, image);
+        applyLocation(provider);
+        ProviderList saved = repo.save(provider);
+        refreshIndexes(saved);
+        return saved;
+    }
+
+    // Store the upload in the content-addressed image store and point the provider at it
+    public void applyImage(ProviderList provider, MultipartFile image) throws IOException {
         if (image != null && !image.isEmpty()) {
+            String hash = imageStore.store(image.getInputStream());
             provider.setImageName(image.getOriginalFilename());
             provider.setImageType(image.getContentType());
-            provider.setImageData(image.getBytes());
+            provider.setImageHash(hash);
+            provider.setImageData(null);
+            imageRenditions.schedule(hash);
         }
-        return repo.save(provider);
-    }
-
-    // Login
-    public ProviderList login(String ownername, String password) {
-        return repo.findByOwnernameAndPassword(ownername, password).orElse(null);
-
     }
 
     // Reset password
@@ -42,7 +109,7 @@ public class ProviderService {
         Optional<ProviderList> providerOpt = repo.findByOwnername(ownername);
         if (providerOpt.isPresent()) {
             ProviderList provider = providerOpt.get();
-            provider.setPassword(newPassword);
+            provider.setPassword(credentialService.hashPassword(newPassword));
             repo.save(provider);
             return "Password reset successful";
         }
@@ -54,17 +121,13 @@ public class ProviderService {
         return repo.findById(id).orElse(null);
     }
 
-    // Update the getProviderImage method
-    public byte[] getProviderImage(int id) {
-        Optional<ProviderList> providerOpt = repo.findById(id);
-        if (providerOpt.isPresent()) {
-            ProviderList provider = providerOpt.get();
-            // Check if image data exists and is not empty
-            if (provider.getImageData() != null && provider.getImageData().length > 0) {
-                return provider.getImageData();
-            }
+    // Image metadata in one query; rows still holding a legacy LOB are migrated on first access
+    public Optional<ProviderImageView> getProviderImage(int id) {
+        Optional<ProviderImageView> view = repo.findImageViewById(id);
+        if (view.isPresent() && view.get().getImageHash() == null && imageMigration.migrate(id)) {
+            view = repo.findImageViewById(id);
         }
-        return null;
+        return view.filter(v -> imageStore.exists(v.getImageHash()));
     }
 
     // Update provider
@@ -72,11 +135,42 @@ public class ProviderService {
         // Check if provider exists
         Optional<ProviderList> existingProvider = repo.findById(provider.getId());
         if (existingProvider.isPresent()) {
-            // Save the updated provider
-            return repo.save(provider);
+            // Save the updated provider and refresh its search and location entries
+            applyLocation(provider);
+            ProviderList saved = repo.save(provider);
+            refreshIndexes(saved);
+            slotCalendar.evictProvider(saved.getId());
+            return saved;
         } else {
             throw new RuntimeException("Provider not found with id: " + provider.getId());
         }
     }
 
+    // Garages near a point: k nearest, optionally capped by radius
+    public List<NearbyProviderDTO> findNearby(double lat, double lon, int k, Double radiusKm) {
+        int limit = Math.max(1, Math.min(k, MAX_CATALOG_PAGE_SIZE));
+        return geoIndex.nearest(lat, lon, limit, radiusKm);
+    }
+
+    // Address changed without explicit coordinates: move to the new address, or keep the current
+    // coordinates when the geocoder misses, so the provider stays in the nearby index
+    public void relocate(ProviderList provider) {
+        geocoder.geocode(provider.getGarageaddress()).ifPresent(point -> {
+            provider.setLatitude(point[0]);
+            provider.setLongitude(point[1]);
+        });
+    }
+
+    // Fill in coordinates from the address when the provider did not send any
+    private void applyLocation(ProviderList provider) {
+        if (provider.getLatitude() == null || provider.getLongitude() == null) {
+            relocate(provider);
+        }
+    }
+
+    private void refreshIndexes(ProviderList provider) {
+        ProviderCatalogDTO entry = Mapper.toProviderCatalogDTO(provider);
+        searchIndex.index(entry);
+        geoIndex.index(entry);
+    }
 }
@@ -0,0 +1,16 @@
+package Vehicle.example.Management.Service;
+
+// Thrown when a caller is over its login/reset budget; answered with 429 and Retry-After
+public class RateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
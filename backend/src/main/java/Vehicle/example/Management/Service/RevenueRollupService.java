@@ -0,0 +1,176 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.RevenueReportDTO;
+import Vehicle.example.Management.List.Billing;
+import Vehicle.example.Management.List.RevenueRollup;
+import Vehicle.example.Management.Repository.RevenueRollupRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+// Keeps revenue_rollups in step with billing. Every billing write hands over the bill's
+// contribution before and after the change, and the difference is merged into the matching
+// (provider, day, service type) row inside the caller's transaction.
+// A bill counts on its service day (billing.appointment_date); bills without one are not rolled up.
+// Full rebuild from billing: java -jar Management.jar --rebuild-revenue-rollups
+@Service
+public class RevenueRollupService implements ApplicationRunner {
+
+    public static final String OTHER_SERVICE = "other";
+
+    private static final String APPLY_DELTA =
+            "MERGE INTO revenue_rollups r USING (SELECT ? AS provider_id, ? AS rollup_day, ? AS service_type FROM dual) s " +
+            "ON (r.provider_id = s.provider_id AND r.rollup_day = s.rollup_day AND r.service_type = s.service_type) " +
+            "WHEN MATCHED THEN UPDATE SET r.paid_amount = r.paid_amount + ?, r.paid_count = r.paid_count + ?, " +
+            "r.pending_amount = r.pending_amount + ?, r.pending_count = r.pending_count + ? " +
+            "WHEN NOT MATCHED THEN INSERT (provider_id, rollup_day, service_type, paid_amount, paid_count, " +
+            "pending_amount, pending_count) VALUES (s.provider_id, s.rollup_day, s.service_type, ?, ?, ?, ?)";
+
+    // The same bucketing as Contribution.of, in SQL
+    private static final String REBUILD =
+            "INSERT INTO revenue_rollups (provider_id, rollup_day, service_type, paid_amount, paid_count, " +
+            "pending_amount, pending_count) " +
+            "SELECT provider_id, rollup_day, service_type, " +
+            "  SUM(CASE WHEN payment_status = 'paid' THEN amount ELSE 0 END), " +
+            "  SUM(CASE WHEN payment_status = 'paid' THEN 1 ELSE 0 END), " +
+            "  SUM(CASE WHEN payment_status = 'pending' THEN amount ELSE 0 END), " +
+            "  SUM(CASE WHEN payment_status = 'pending' THEN 1 ELSE 0 END) " +
+            "FROM (SELECT provider_id, payment_status, COALESCE(total_amount, 0) AS amount, " +
+            "        TO_DATE(appointment_date DEFAULT NULL ON CONVERSION ERROR, 'YYYY-MM-DD') AS rollup_day, " +
+            "        COALESCE(LOWER(TRIM(service_type)), '" + OTHER_SERVICE + "') AS service_type " +
+            "      FROM billing WHERE provider_id IS NOT NULL AND payment_status IN ('paid', 'pending')) " +
+            "WHERE rollup_day IS NOT NULL " +
+            "GROUP BY provider_id, rollup_day, service_type";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RevenueRollupRepo rollupRepo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("rebuild-revenue-rollups")) {
+            System.out.println("Revenue rollups rebuilt: " + rebuild() + " rows");
+            return;
+        }
+        // First start with the table: seed it from history once
+        Integer rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM revenue_rollups WHERE ROWNUM = 1", Integer.class);
+        if (rows != null && rows == 0) {
+            int seeded = rebuild();
+            if (seeded > 0) {
+                System.out.println("Seeded " + seeded + " revenue rollup rows from billing");
+            }
+        }
+    }
+
+    // Move a bill's contribution from before to after. Call inside the transaction that writes the bill.
+    public void apply(Contribution before, Contribution after) {
+        if (Objects.equals(before, after)) {
+            return;
+        }
+        if (before != null && after != null && before.sameRow(after)) {
+            merge(before, after.paidAmount() - before.paidAmount(), after.paidCount() - before.paidCount(),
+                    after.pendingAmount() - before.pendingAmount(), after.pendingCount() - before.pendingCount());
+            return;
+        }
+        if (before != null) {
+            merge(before, -before.paidAmount(), -before.paidCount(), -before.pendingAmount(), -before.pendingCount());
+        }
+        if (after != null) {
+            merge(after, after.paidAmount(), after.paidCount(), after.pendingAmount(), after.pendingCount());
+        }
+    }
+
+    private void merge(Contribution key, double paidAmount, long paidCount, double pendingAmount, long pendingCount) {
+        Object[] args = {key.providerId, Date.valueOf(key.day), key.serviceType,
+                paidAmount, paidCount, pendingAmount, pendingCount,
+                paidAmount, paidCount, pendingAmount, pendingCount};
+        try {
+            jdbcTemplate.update(APPLY_DELTA, args);
+        } catch (DuplicateKeyException e) {
+            // Another transaction inserted the row first; it exists now, so the retry takes the update branch
+            jdbcTemplate.update(APPLY_DELTA, args);
+        }
+    }
+
+    // Recompute every row from billing in two statements. The exclusive lock holds off delta merges
+    // until the new rows commit; writers already in flight finish first and are read by the rebuild.
+    public int rebuild() {
+        Integer rows = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("LOCK TABLE revenue_rollups IN EXCLUSIVE MODE");
+            jdbcTemplate.update("DELETE FROM revenue_rollups");
+            return jdbcTemplate.update(REBUILD);
+        });
+        return rows != null ? rows : 0;
+    }
+
+    // Any date range is answered from the pre-aggregated rows; no billing rows are read
+    public RevenueReportDTO report(Long providerId, LocalDate from, LocalDate to, boolean monthly) {
+        RevenueReportDTO.Totals totals = new RevenueReportDTO.Totals(null);
+        Map<String, RevenueReportDTO.Totals> periods = new LinkedHashMap<>();
+        Map<String, RevenueReportDTO.Totals> serviceMix = new TreeMap<>();
+
+        for (RevenueRollup row : rollupRepo.findByProviderIdAndDayBetweenOrderByDayAsc(providerId, from, to)) {
+            String period = monthly ? row.getDay().toString().substring(0, 7) : row.getDay().toString();
+            totals.add(row.getPaidAmount(), row.getPaidCount(), row.getPendingAmount(), row.getPendingCount());
+            periods.computeIfAbsent(period, RevenueReportDTO.Totals::new)
+                    .add(row.getPaidAmount(), row.getPaidCount(), row.getPendingAmount(), row.getPendingCount());
+            serviceMix.computeIfAbsent(row.getServiceType(), RevenueReportDTO.Totals::new)
+                    .add(row.getPaidAmount(), row.getPaidCount(), row.getPendingAmount(), row.getPendingCount());
+        }
+        return new RevenueReportDTO(providerId, from, to, totals,
+                new ArrayList<>(periods.values()), new ArrayList<>(serviceMix.values()));
+    }
+
+    // Rollup key plus the amounts one bill puts in it
+    public record Contribution(Long providerId, LocalDate day, String serviceType, boolean paid, double amount) {
+
+        // What a bill adds to the rollups right now; null when it adds nothing
+        public static Contribution of(Billing billing) {
+            if (billing == null || billing.getProviderId() == null || billing.getDate() == null) {
+                return null;
+            }
+            boolean paid = "paid".equals(billing.getPaymentStatus());
+            if (!paid && !"pending".equals(billing.getPaymentStatus())) {
+                return null;
+            }
+            LocalDate day;
+            try {
+                day = LocalDate.parse(billing.getDate());
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+            String serviceType = billing.getServiceType() == null || billing.getServiceType().isBlank()
+                    ? OTHER_SERVICE : billing.getServiceType().trim().toLowerCase(Locale.ROOT);
+            double amount = billing.getTotalAmount() != null ? billing.getTotalAmount() : 0;
+            return new Contribution(billing.getProviderId(), day, serviceType, paid, amount);
+        }
+
+        boolean sameRow(Contribution other) {
+            return providerId.equals(other.providerId) && day.equals(other.day) && serviceType.equals(other.serviceType);
+        }
+
+        double paidAmount() { return paid ? amount : 0; }
+        long paidCount() { return paid ? 1 : 0; }
+        double pendingAmount() { return paid ? 0 : amount; }
+        long pendingCount() { return paid ? 0 : 1; }
+    }
+}
@@ -5,7 +5,9 @@ import Vehicle.example.Management.Repository.UserRepo;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +17,18 @@ public class ServiceClass {
     @Autowired
     private UserRepo userRepository;
 
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private ImageRenditions imageRenditions;
+
+    @Autowired
+    private CredentialService credentialService;
+
+    @Autowired
+    private UserCache userCache;
+
     public List<UserList> getList() {
         return userRepository.findAll();
     }
@@ -23,12 +37,20 @@ public class ServiceClass {
         return userRepository.findById(id).orElse(null);
     }
 
-    public UserList login(String username, String password) {
-        return userRepository.findByusernameAndPassword(username, password);
+    // Profile pictures go to the image store; imageName becomes the content hash
+    public void applyImage(UserList user, MultipartFile image) throws IOException {
+        if (image != null && !image.isEmpty()) {
+            String hash = imageStore.store(image.getInputStream());
+            user.setImageName(hash);
+            user.setImageType(image.getContentType());
+            imageRenditions.schedule(hash);
+        }
     }
 
     public UserList saveUser(UserList user) {
-        return userRepository.save(user);
+        UserList saved = userRepository.save(user);
+        userCache.invalidate(saved.getUsername());
+        return saved;
     }
 
     public String resetPassword(String username, String newPassword) {
@@ -36,19 +58,26 @@ public class ServiceClass {
 
         if (userOptional.isPresent()) {
             UserList user = userOptional.get();
-            user.setPassword(newPassword); // ⚠ plain text for now
+            user.setPassword(credentialService.hashPassword(newPassword));
             userRepository.save(user); // use instance
+            userCache.invalidate(username);
             return "Password reset successful!";
         } else {
             return "User not found with username: " + username;
         }
 
     }
+    // Cached, shared instance: read only
     public Optional<UserList> getUserByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return userCache.find(username);
     }
 
     public Optional<UserList> findByUsername(String username) {
+        return userCache.find(username);
+    }
+
+    // Fresh row bound to the current session, for callers that modify the user or walk its appointments
+    public Optional<UserList> loadByUsername(String username) {
         return userRepository.findByUsername(username);
     }
 
@@ -58,7 +87,9 @@ public class ServiceClass {
         Optional<UserList> existingUser = userRepository.findById(user.getId());
         if (existingUser.isPresent()) {
             // Save the updated user
-            return userRepository.save(user);
+            UserList saved = userRepository.save(user);
+            userCache.invalidate(saved.getUsername());
+            return saved;
         } else {
             throw new RuntimeException("User not found with id: " + user.getId());
         }
@@ -1,23 +1,45 @@
 package Vehicle.example.Management.Service;
 
+import Vehicle.example.Management.DTO.AppointmentStatusView;
+import Vehicle.example.Management.DTO.ServiceProgressEventDTO;
+import Vehicle.example.Management.DTO.UpdateFeedDTO;
 import Vehicle.example.Management.List.Appointment;
 import Vehicle.example.Management.List.ServiceDetails;
 import Vehicle.example.Management.List.Update;
-import Vehicle.example.Management.List.UserList;
 import Vehicle.example.Management.Repository.AppointmentRepository;
+import Vehicle.example.Management.Repository.ProviderRepo;
 import Vehicle.example.Management.Repository.ServiceRepo;
-import Vehicle.example.Management.Repository.UserRepo;
+import Vehicle.example.Management.Repository.UpdateRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class ServiceLayer {
 
+    private static final int BACKFILL_BATCH_SIZE = 200;
+    private static final int MAX_UPDATES_PAGE = 500;
+
+    // Same shape as the existing step timestamps ("09:30 AM")
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("hh:mm a", Locale.ENGLISH);
+
     @Autowired
     private ServiceRepo serviceRepo;
 
@@ -25,34 +47,113 @@ public class ServiceLayer {
     private AppointmentRepository appointmentRepository;
 
     @Autowired
-    private UserRepo userRepository;
+    private ProviderRepo providerRepo;
+
+    @Autowired
+    private UpdateRepo updateRepo;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final Cache<String, List<ServiceDetails>> timelines = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofMinutes(30))
+            .build();
 
 
+    // Single indexed lookup behind a per-user cache; every write below invalidates the user's entry
     public List<ServiceDetails> getServicesByUsername(String username) {
-        // First try to get existing service details
-        List<ServiceDetails> existingServices = serviceRepo.findByUsername(username);
+        return timelines.get(username, u -> List.copyOf(serviceRepo.findTimelinesByUsername(u)));
+    }
 
-        if (!existingServices.isEmpty()) {
-            return existingServices;
+    // Build and store the timeline for a new appointment, in the booking's transaction
+    public ServiceDetails materialize(Appointment appointment) {
+        String ownerName = null;
+        if (appointment.getProvider() != null) {
+            ownerName = providerRepo.findOwnernameById(appointment.getProvider().getId()).orElse(null);
         }
+        return materialize(appointment, ownerName);
+    }
 
-        // If no service details exist, create them from appointments
-        return createServiceDetailsFromAppointments(username);
+    // Bulk callers pass the provider's owner name so no provider row is loaded per appointment
+    public ServiceDetails materialize(Appointment appointment, String providerOwnerName) {
+        if (appointment.getUser() == null) {
+            return null;
+        }
+        ServiceDetails service = convertAppointmentToServiceDetails(appointment, providerOwnerName);
+        ServiceDetails saved = serviceRepo.save(service);
+        invalidate(saved.getUsername());
+        return saved;
     }
 
-    private List<ServiceDetails> createServiceDetailsFromAppointments(String username) {
-        Optional<UserList> userOpt = userRepository.findByUsername(username);
-        if (!userOpt.isPresent()) {
-            return List.of();
+    // Keep a materialized timeline in step with an appointment status transition: set the
+    // service status and append only the steps the new status adds
+    @Transactional
+    public void syncStatus(Long appointmentId, String appointmentStatus) {
+        Optional<ServiceDetails> serviceOpt = serviceRepo.findByAppointmentIdForUpdate(appointmentId);
+        ServiceDetails service;
+        if (serviceOpt.isPresent()) {
+            service = serviceOpt.get();
+            String serviceStatus = mapAppointmentStatusToServiceStatus(appointmentStatus);
+            if (serviceStatus.equals(service.getStatus())) {
+                return;
+            }
+            service.setStatus(serviceStatus);
+            appendStepsFor(service, serviceStatus);
+            serviceRepo.save(service);
+            invalidate(service.getUsername());
+        } else {
+            // Not backfilled yet: build it from the appointment as it now stands
+            Optional<Appointment> appointment = appointmentRepository.findById(appointmentId);
+            if (appointment.isEmpty() || (service = materialize(appointment.get())) == null) {
+                return;
+            }
         }
 
-        List<Appointment> appointments = appointmentRepository.findByUser(userOpt.get());
+        eventPublisher.publishEvent(ServiceProgressEventDTO.status(service.getUsername(), service.getId(),
+                appointmentId, service.getStatus()));
+    }
 
-        return appointments.stream().map(this::convertAppointmentToServiceDetails).collect(Collectors.toList());
+    // One pass over appointments booked before timelines were stored
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillTimelines() {
+        int created = 0;
+        long afterId = 0;
+        try {
+            while (true) {
+                long from = afterId;
+                List<Long> ids = transactionTemplate.execute(status -> {
+                    List<Appointment> batch = appointmentRepository.findWithoutTimeline(from,
+                            PageRequest.of(0, BACKFILL_BATCH_SIZE));
+                    List<Long> done = new ArrayList<>();
+                    for (Appointment appointment : batch) {
+                        String ownerName = appointment.getProvider() != null ? appointment.getProvider().getOwnername() : null;
+                        serviceRepo.save(convertAppointmentToServiceDetails(appointment, ownerName));
+                        done.add(appointment.getId());
+                    }
+                    return done;
+                });
+                if (ids == null || ids.isEmpty()) {
+                    break;
+                }
+                created += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Service timeline backfill stopped: " + e.getMessage());
+        }
+        if (created > 0) {
+            timelines.invalidateAll();
+            System.out.println("Materialized " + created + " service timelines from existing appointments");
+        }
     }
 
-    private ServiceDetails convertAppointmentToServiceDetails(Appointment appointment) {
+    private ServiceDetails convertAppointmentToServiceDetails(Appointment appointment, String providerOwnerName) {
         ServiceDetails service = new ServiceDetails();
+        service.setAppointmentId(appointment.getId());
         service.setUsername(appointment.getUser().getUsername());
         service.setVehicleModel(appointment.getVehicleName());
         service.setLicensePlate(appointment.getVehicleNumber());
@@ -60,7 +161,7 @@ public class ServiceLayer {
         service.setDescription(appointment.getServiceType() + " service for " + appointment.getVehicleName());
         service.setStatus(mapAppointmentStatusToServiceStatus(appointment.getStatus()));
         service.setPriority(determinePriority(appointment.getServiceType()));
-        service.setTechnician("Technician " + (appointment.getProvider() != null ? appointment.getProvider().getOwnername() : "Not Assigned"));
+        service.setTechnician("Technician " + (providerOwnerName != null ? providerOwnerName : "Not Assigned"));
 
         // Create sample updates based on status
         service.setUpdates(createSampleUpdates(service.getStatus()));
@@ -68,12 +169,13 @@ public class ServiceLayer {
         return service;
     }
 
-    private String mapAppointmentStatusToServiceStatus(String appointmentStatus) {
+    static String mapAppointmentStatusToServiceStatus(String appointmentStatus) {
         if (appointmentStatus == null) return "scheduled";
         switch (appointmentStatus.toLowerCase()) {
             case "completed": return "completed";
             case "in-progress": return "in-progress";
             case "confirmed": return "in-progress";
+            case "cancelled": return "cancelled";
             default: return "scheduled";
         }
     }
@@ -110,6 +212,31 @@ public class ServiceLayer {
         return updates;
     }
 
+    private void appendStepsFor(ServiceDetails service, String serviceStatus) {
+        if (service.getUpdates() == null) {
+            service.setUpdates(new ArrayList<>());
+        }
+        List<Update> updates = service.getUpdates();
+        String now = LocalTime.now().format(TIMESTAMP_FORMAT);
+        List<Update> steps = new ArrayList<>();
+        if ("in-progress".equals(serviceStatus)) {
+            steps.add(createUpdate("Service In Progress", "Currently working on the vehicle", false, now));
+        } else if ("completed".equals(serviceStatus)) {
+            updates.forEach(update -> update.setCompleted(true));
+            steps.add(createUpdate("Service Completed", "All services completed successfully", true, now));
+            steps.add(createUpdate("Quality Check", "Final quality inspection passed", true, now));
+            steps.add(createUpdate("Ready for Pickup", "Vehicle ready for customer pickup", true, now));
+        } else if ("cancelled".equals(serviceStatus)) {
+            steps.add(createUpdate("Service Cancelled", "Appointment was cancelled", true, now));
+        }
+        for (Update step : steps) {
+            boolean present = updates.stream().anyMatch(update -> step.getStep().equals(update.getStep()));
+            if (!present) {
+                service.appendUpdate(step);
+            }
+        }
+    }
+
     private Update createUpdate(String step, String note, boolean completed, String timestamp) {
         Update update = new Update();
         update.setStep(step);
@@ -120,13 +247,74 @@ public class ServiceLayer {
         return update;
     }
 
+    // Append a progress step to a service and push it to the customer's open dashboards
+    @Transactional
+    public Update addUpdate(Long serviceId, Update update) {
+        ServiceDetails service = serviceRepo.findByIdForUpdate(serviceId)
+                .orElseThrow(() -> new ServiceNotFoundException("Service not found with id: " + serviceId));
+
+        update.setId(null);
+        update.setCreatedAt(null);
+        if (update.getTimestamp() == null || update.getTimestamp().isEmpty()) {
+            update.setTimestamp(LocalTime.now().format(TIMESTAMP_FORMAT));
+        }
+        service.appendUpdate(update);
+        // Flush so the step has its id before it is published
+        serviceRepo.saveAndFlush(service);
+        invalidate(service.getUsername());
+
+        eventPublisher.publishEvent(ServiceProgressEventDTO.update(service.getUsername(), serviceId, update));
+        return update;
+    }
+
+    // Incremental timeline read: only steps with seq > after, oldest first
+    public UpdateFeedDTO getUpdatesSince(Long serviceId, long after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_UPDATES_PAGE));
+        List<Update> rows = updateRepo.findByServiceIdAndSeqGreaterThanOrderBySeqAsc(serviceId, after,
+                PageRequest.of(0, size + 1));
+        boolean more = rows.size() > size;
+        if (more) {
+            rows = rows.subList(0, size);
+        }
+        long cursor = rows.isEmpty() ? after : rows.get(rows.size() - 1).getSeq();
+        return new UpdateFeedDTO(rows, cursor, more);
+    }
+
     public ServiceDetails saveService(ServiceDetails service) {
-        return serviceRepo.save(service);
+        ServiceDetails saved = serviceRepo.save(service);
+        invalidate(saved.getUsername());
+        return saved;
+    }
+
+    // Drop now and again after commit, so a read racing the write can't re-cache the old rows
+    private void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        timelines.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timelines.invalidate(username);
+                }
+            });
+        }
     }
 
     public ServiceDetails getServiceById(Long id) {
         return serviceRepo.findById(id).orElse(null);
     }
+
+    // Provider of the appointment behind a timeline, or null for one with no appointment or provider
+    public Integer getProviderId(ServiceDetails service) {
+        if (service.getAppointmentId() == null) {
+            return null;
+        }
+        return appointmentRepository.findStatusViewById(service.getAppointmentId())
+                .map(AppointmentStatusView::getProviderId)
+                .orElse(null);
+    }
 }
 
 
@@ -0,0 +1,8 @@
+package Vehicle.example.Management.Service;
+
+// Thrown when a service timeline id does not exist
+public class ServiceNotFoundException extends RuntimeException {
+    public ServiceNotFoundException(String message) {
+        super(message);
+    }
+}
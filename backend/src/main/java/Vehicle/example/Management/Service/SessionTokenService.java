@@ -0,0 +1,184 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+// Stateless session tokens: base64url("kind:id:expires:name") + "." + base64url(HMAC-SHA256).
+// Validation needs only the key, and parsed principals are cached by token, so an authenticated
+// request neither queries the database nor recomputes the MAC after its first use.
+@Service
+public class SessionTokenService {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    // Stream tickets: "t:kind:id:expires:path:name", signed like a session token but only good for
+    // opening one event stream within this window, so the value that lands in URLs and logs is short-lived
+    private static final String TICKET = "t";
+    private static final Duration TICKET_TTL = Duration.ofSeconds(60);
+
+    private final SecretKeySpec key;
+    private final Duration ttl;
+    private final Cache<String, AuthPrincipal> principals;
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokenService(@Value("${app.auth.token-secret:}") String secret,
+                               @Value("${app.auth.token-ttl-hours:12}") long ttlHours,
+                               Environment environment) {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            // A per-process key signs everyone out on restart and splits sessions across instances
+            if (!environment.acceptsProfiles(Profiles.of("dev", "test"))) {
+                throw new IllegalStateException("app.auth.token-secret is not set; export APP_AUTH_TOKEN_SECRET " +
+                        "(base64, 32+ bytes) or run with the dev profile");
+            }
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            System.out.println("app.auth.token-secret is not set; using a random key, tokens end with this process");
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret.trim());
+            if (keyBytes.length < 32) {
+                throw new IllegalArgumentException("app.auth.token-secret must be at least 32 bytes (base64)");
+            }
+        }
+        this.key = new SecretKeySpec(keyBytes, MAC_ALGORITHM);
+        this.ttl = Duration.ofHours(ttlHours);
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(50_000)
+                .expireAfterWrite(Duration.ofMinutes(10))
+                .build();
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HMAC-SHA256 is not available", e);
+            }
+        });
+    }
+
+    public String issueForUser(long userId, String username) {
+        return issue(AuthPrincipal.USER, userId, username);
+    }
+
+    public String issueForProvider(long providerId, String ownername) {
+        return issue(AuthPrincipal.PROVIDER, providerId, ownername);
+    }
+
+    // Short-lived ticket that lets an EventSource (which cannot send headers) open the stream at path as principal
+    public String issueStreamTicket(AuthPrincipal principal, String path) {
+        if (path.indexOf(':') >= 0) {
+            throw new IllegalArgumentException("Invalid stream path");
+        }
+        long expiresAt = Instant.now().plus(TICKET_TTL).getEpochSecond();
+        return seal(TICKET + ":" + principal.getKind() + ":" + principal.getId() + ":" + expiresAt + ":" + path +
+                ":" + principal.getName());
+    }
+
+    // Empty unless the ticket was issued for exactly this path and has not expired
+    public Optional<AuthPrincipal> validateStreamTicket(String ticket, String path) {
+        String payload = ticket != null ? open(ticket) : null;
+        if (payload == null) {
+            return Optional.empty();
+        }
+        String[] parts = payload.split(":", 6);
+        if (parts.length != 6 || !TICKET.equals(parts[0]) || !path.equals(parts[4])
+                || !(AuthPrincipal.USER.equals(parts[1]) || AuthPrincipal.PROVIDER.equals(parts[1]))) {
+            return Optional.empty();
+        }
+        try {
+            long expiresAt = Long.parseLong(parts[3]);
+            if (expiresAt <= Instant.now().getEpochSecond()) {
+                return Optional.empty();
+            }
+            return Optional.of(new AuthPrincipal(parts[1], Long.parseLong(parts[2]), parts[5], expiresAt));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Empty for a malformed, forged or expired token
+    public Optional<AuthPrincipal> validate(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        AuthPrincipal principal = principals.getIfPresent(token);
+        if (principal == null) {
+            principal = parse(token);
+            if (principal == null) {
+                return Optional.empty();
+            }
+            principals.put(token, principal);
+        }
+        if (principal.getExpiresAt() <= Instant.now().getEpochSecond()) {
+            principals.invalidate(token);
+            return Optional.empty();
+        }
+        return Optional.of(principal);
+    }
+
+    private String issue(String kind, long id, String name) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        return seal(kind + ":" + id + ":" + expiresAt + ":" + name);
+    }
+
+    private AuthPrincipal parse(String token) {
+        String payload = open(token);
+        if (payload == null) {
+            return null;
+        }
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4 || !(AuthPrincipal.USER.equals(parts[0]) || AuthPrincipal.PROVIDER.equals(parts[0]))) {
+            return null;
+        }
+        try {
+            return new AuthPrincipal(parts[0], Long.parseLong(parts[1]), parts[3], Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String seal(String payload) {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String body = encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return body + "." + encoder.encodeToString(sign(body));
+    }
+
+    // The signed payload, or null if the value is malformed or the signature does not match
+    private String open(String sealed) {
+        int dot = sealed.indexOf('.');
+        if (dot <= 0 || dot != sealed.lastIndexOf('.')) {
+            return null;
+        }
+        String body = sealed.substring(0, dot);
+        try {
+            byte[] signature = Base64.getUrlDecoder().decode(sealed.substring(dot + 1));
+            if (!MessageDigest.isEqual(signature, sign(body))) {
+                return null;
+            }
+            return new String(Base64.getUrlDecoder().decode(body), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(String body) {
+        return macs.get().doFinal(body.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -0,0 +1,381 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.DayAvailabilityDTO;
+import Vehicle.example.Management.DTO.ProviderScheduleView;
+import Vehicle.example.Management.DTO.SlotDTO;
+import Vehicle.example.Management.Repository.AppointmentRepository;
+import Vehicle.example.Management.Repository.ProviderRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Per-provider slot calendar kept in memory as one small counter array per (provider, day).
+// The next HORIZON_DAYS are loaded for all providers at startup (other days on first use);
+// after that every booking and cancellation adjusts the counters under a striped lock, so two
+// requests can never both take the last seat in a slot.
+@Service
+public class SlotCalendar {
+
+    static final LocalTime DEFAULT_OPENING = LocalTime.of(9, 0);
+    static final LocalTime DEFAULT_CLOSING = LocalTime.of(18, 0);
+    static final int DEFAULT_SLOT_MINUTES = 30;
+    static final int DEFAULT_CAPACITY = 1;
+
+    private static final int STRIPES = 64;
+    private static final int MAX_RANGE_DAYS = 62;
+    private static final int HORIZON_DAYS = 30;
+
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+
+    @Autowired
+    private ProviderRepo providerRepo;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    private final ConcurrentHashMap<Long, DayLedger> days = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Schedule> schedules = new ConcurrentHashMap<>();
+
+    public SlotCalendar() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    // Takes one seat in the slot containing the given time and returns that slot's start time.
+    // Inside a transaction the seat is given back automatically if the transaction rolls back.
+    public LocalTime reserve(int providerId, LocalDate date, LocalTime time) {
+        if (LocalDateTime.of(date, time).isBefore(LocalDateTime.now())) {
+            throw new SlotUnavailableException(date + " " + time + " is in the past");
+        }
+        Schedule schedule = schedule(providerId);
+        int index = schedule.slotIndex(time);
+        if (index < 0) {
+            throw new SlotUnavailableException("Time " + time + " is outside working hours (" +
+                    schedule.opening + " - " + schedule.closing + ")");
+        }
+
+        long key = key(providerId, date);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            DayLedger ledger = ensureLoaded(providerId, date, schedule);
+            if (ledger.booked[index] >= schedule.capacity) {
+                throw new SlotUnavailableException("Slot " + schedule.slotStart(index) + " on " + date +
+                        " is fully booked");
+            }
+            ledger.add(index, 1);
+        } finally {
+            lock.unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        releaseNow(providerId, date, time);
+                    }
+                }
+            });
+        }
+        return schedule.slotStart(index);
+    }
+
+    // Gives a seat back, e.g. when an appointment is cancelled; inside a transaction this
+    // waits for the commit so a rolled-back cancellation keeps its seat
+    public void release(int providerId, LocalDate date, LocalTime time) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseNow(providerId, date, time);
+                }
+            });
+        } else {
+            releaseNow(providerId, date, time);
+        }
+    }
+
+    private void releaseNow(int providerId, LocalDate date, LocalTime time) {
+        Schedule schedule = schedule(providerId);
+        int index = schedule.slotIndex(time);
+        long key = key(providerId, date);
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            DayLedger ledger = days.get(key);
+            // An unloaded day will be read fresh from the table, so nothing to adjust
+            if (ledger != null && index >= 0 && ledger.booked[index] > 0) {
+                ledger.add(index, -1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Free slots for a provider over a date range; missing days are loaded with one grouped query
+    public List<DayAvailabilityDTO> availability(int providerId, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Date range is limited to " + MAX_RANGE_DAYS + " days");
+        }
+
+        Schedule schedule = schedule(providerId);
+        loadRange(providerId, from, to, schedule);
+
+        List<DayAvailabilityDTO> result = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayLedger ledger = days.get(key(providerId, day));
+            List<SlotDTO> slots = new ArrayList<>();
+            for (int i = 0; i < schedule.slotCount; i++) {
+                int remaining = schedule.capacity - (ledger != null ? ledger.booked[i] : 0);
+                if (remaining > 0) {
+                    slots.add(new SlotDTO(schedule.slotStart(i), schedule.capacity, remaining));
+                }
+            }
+            result.add(new DayAvailabilityDTO(day, slots));
+        }
+        return result;
+    }
+
+    // Working hours or slot settings changed: rebuild this provider's horizon from the table under the new
+    // schedule and swap each day in under its stripe lock, so a day never disappears halfway through a
+    // reserve or release and lookups keep hitting memory. Days beyond the horizon are dropped and reload on use.
+    public void evictProvider(int providerId) {
+        schedules.remove(providerId);
+        Schedule schedule = schedule(providerId);
+        LocalDate from = LocalDate.now();
+        Map<LocalDate, DayLedger> fresh = countBookings(providerId, from, from.plusDays(HORIZON_DAYS), schedule);
+
+        Set<Long> keys = new HashSet<>();
+        for (Long key : days.keySet()) {
+            if ((int) (key >> 32) == providerId) {
+                keys.add(key);
+            }
+        }
+        fresh.keySet().forEach(day -> keys.add(key(providerId, day)));
+
+        for (Long key : keys) {
+            DayLedger ledger = fresh.get(LocalDate.ofEpochDay(key & 0xFFFFFFFFL));
+            ReentrantLock lock = lockFor(key);
+            lock.lock();
+            try {
+                if (ledger != null) {
+                    days.put(key, ledger);
+                } else {
+                    days.remove(key);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Earliest slot with a free seat for one provider inside a date and time-of-day window.
+    // Past days and slots earlier today are never offered, since reserve would refuse them.
+    // Reads the counters without locking; the booking itself re-checks under the lock.
+    public Optional<SlotDTO> firstFree(int providerId, LocalDate date, LocalTime notBefore, LocalTime notAfter) {
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today)) {
+            return Optional.empty();
+        }
+        if (date.equals(today)) {
+            LocalTime now = LocalTime.now();
+            if (notBefore == null || notBefore.isBefore(now)) {
+                notBefore = now;
+            }
+        }
+        Schedule schedule = schedule(providerId);
+        DayLedger ledger = days.get(key(providerId, date));
+        if (ledger == null) {
+            ledger = ensureLoaded(providerId, date, schedule);
+        }
+        if (ledger.freeSeats <= 0) {
+            return Optional.empty();
+        }
+        for (int i = 0; i < schedule.slotCount; i++) {
+            LocalTime start = schedule.slotStart(i);
+            if (notBefore != null && start.isBefore(notBefore)) {
+                continue;
+            }
+            if (notAfter != null && start.isAfter(notAfter)) {
+                break;
+            }
+            int remaining = schedule.capacity - ledger.booked[i];
+            if (remaining > 0) {
+                return Optional.of(new SlotDTO(start, schedule.capacity, remaining));
+            }
+        }
+        return Optional.empty();
+    }
+
+    // Load today + HORIZON_DAYS for every provider with two queries
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDate from = LocalDate.now();
+        LocalDate to = from.plusDays(HORIZON_DAYS);
+        loadAllProviders(from, to);
+        System.out.println("Slot calendar warmed for " + schedules.size() + " providers until " + to);
+    }
+
+    // Drop past days and pull the new last day of the horizon into memory
+    @Scheduled(cron = "0 15 0 * * *")
+    public void rollHorizon() {
+        long today = LocalDate.now().toEpochDay();
+        days.keySet().removeIf(key -> (key & 0xFFFFFFFFL) < today);
+        LocalDate last = LocalDate.now().plusDays(HORIZON_DAYS);
+        loadAllProviders(last, last);
+    }
+
+    private void loadAllProviders(LocalDate from, LocalDate to) {
+        Map<Long, DayLedger> loaded = new HashMap<>();
+        for (ProviderScheduleView view : providerRepo.findAllSchedules()) {
+            Schedule schedule = new Schedule(view);
+            schedules.put(view.getId(), schedule);
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                loaded.put(key(view.getId(), day), new DayLedger(schedule));
+            }
+        }
+        for (Object[] row : appointmentRepository.countActiveBookingsForAllProviders(from, to)) {
+            int providerId = ((Number) row[0]).intValue();
+            DayLedger ledger = loaded.get(key(providerId, (LocalDate) row[1]));
+            if (ledger != null) {
+                ledger.add(schedules.get(providerId).slotIndex((LocalTime) row[2]), ((Number) row[3]).intValue());
+            }
+        }
+        loaded.forEach(days::putIfAbsent);
+    }
+
+    private DayLedger ensureLoaded(int providerId, LocalDate date, Schedule schedule) {
+        long key = key(providerId, date);
+        DayLedger ledger = days.get(key);
+        if (ledger == null) {
+            loadRange(providerId, date, date, schedule);
+            ledger = days.get(key);
+        }
+        return ledger;
+    }
+
+    private void loadRange(int providerId, LocalDate from, LocalDate to, Schedule schedule) {
+        LocalDate firstMissing = null;
+        LocalDate lastMissing = null;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!days.containsKey(key(providerId, day))) {
+                if (firstMissing == null) {
+                    firstMissing = day;
+                }
+                lastMissing = day;
+            }
+        }
+        if (firstMissing == null) {
+            return;
+        }
+
+        // First ledger in wins; a concurrent loader or booking may already have installed one
+        countBookings(providerId, firstMissing, lastMissing, schedule)
+                .forEach((day, ledger) -> days.putIfAbsent(key(providerId, day), ledger));
+    }
+
+    // Fresh ledgers for one provider's days, filled with one grouped query
+    private Map<LocalDate, DayLedger> countBookings(int providerId, LocalDate from, LocalDate to, Schedule schedule) {
+        Map<LocalDate, DayLedger> loaded = new HashMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            loaded.put(day, new DayLedger(schedule));
+        }
+        for (Object[] row : appointmentRepository.countActiveBookings(providerId, from, to)) {
+            LocalDate day = (LocalDate) row[0];
+            loaded.get(day).add(schedule.slotIndex((LocalTime) row[1]), ((Number) row[2]).intValue());
+        }
+        return loaded;
+    }
+
+    private Schedule schedule(int providerId) {
+        return schedules.computeIfAbsent(providerId, id -> providerRepo.findScheduleById(id)
+                .map(Schedule::new)
+                .orElseThrow(() -> new RuntimeException("Provider not found with id: " + id)));
+    }
+
+    private ReentrantLock lockFor(long key) {
+        return locks[(Long.hashCode(key) & 0x7FFFFFFF) % STRIPES];
+    }
+
+    private static long key(int providerId, LocalDate date) {
+        return ((long) providerId << 32) | (date.toEpochDay() & 0xFFFFFFFFL);
+    }
+
+    private static class DayLedger {
+        final short[] booked;
+        final int capacity;
+        // Seats still free across the whole day, so full days are skipped without a scan
+        int freeSeats;
+
+        DayLedger(Schedule schedule) {
+            this.booked = new short[schedule.slotCount];
+            this.capacity = schedule.capacity;
+            this.freeSeats = schedule.slotCount * schedule.capacity;
+        }
+
+        // Overbooked legacy slots must not eat into other slots' free seats
+        void add(int index, int count) {
+            if (index < 0) {
+                return;
+            }
+            int before = booked[index];
+            int after = Math.max(0, before + count);
+            booked[index] = (short) after;
+            freeSeats -= Math.min(after, capacity) - Math.min(before, capacity);
+        }
+    }
+
+    private static class Schedule {
+        final LocalTime opening;
+        final LocalTime closing;
+        final int slotMinutes;
+        final int capacity;
+        final int slotCount;
+
+        Schedule(ProviderScheduleView view) {
+            this.opening = view.getOpeningTime() != null ? view.getOpeningTime() : DEFAULT_OPENING;
+            this.closing = view.getClosingTime() != null ? view.getClosingTime() : DEFAULT_CLOSING;
+            this.slotMinutes = view.getSlotMinutes() != null && view.getSlotMinutes() > 0
+                    ? view.getSlotMinutes() : DEFAULT_SLOT_MINUTES;
+            this.capacity = view.getSlotCapacity() != null && view.getSlotCapacity() > 0
+                    ? view.getSlotCapacity() : DEFAULT_CAPACITY;
+            int minutes = closing.toSecondOfDay() / 60 - opening.toSecondOfDay() / 60;
+            this.slotCount = Math.max(0, minutes / slotMinutes);
+        }
+
+        // Slot containing the given time, or -1 outside working hours
+        int slotIndex(LocalTime time) {
+            int offset = time.toSecondOfDay() / 60 - opening.toSecondOfDay() / 60;
+            if (offset < 0) {
+                return -1;
+            }
+            int index = offset / slotMinutes;
+            return index < slotCount ? index : -1;
+        }
+
+        LocalTime slotStart(int index) {
+            return opening.plusMinutes((long) index * slotMinutes);
+        }
+    }
+}
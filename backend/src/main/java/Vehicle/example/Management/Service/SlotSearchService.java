@@ -0,0 +1,90 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.NearbyProviderDTO;
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import Vehicle.example.Management.DTO.SlotDTO;
+import Vehicle.example.Management.DTO.SlotOfferDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+// "Who can do a brake service this Saturday morning": one pass over in-memory data.
+// Candidates come from the search index (service type) and the geo index (location);
+// each candidate's earliest free slot comes from the warmed SlotCalendar.
+@Service
+public class SlotSearchService {
+
+    private static final int MAX_WINDOW_DAYS = 31;
+    private static final double DEFAULT_RADIUS_KM = 25.0;
+
+    @Autowired
+    private SlotCalendar slotCalendar;
+
+    @Autowired
+    private ProviderSearchIndex searchIndex;
+
+    @Autowired
+    private ProviderGeoIndex geoIndex;
+
+    public List<SlotOfferDTO> firstAvailable(String serviceType, LocalDate from, LocalDate to,
+                                             LocalTime notBefore, LocalTime notAfter,
+                                             Double lat, Double lon, Double radiusKm, int limit) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (from.plusDays(MAX_WINDOW_DAYS).isBefore(to)) {
+            throw new IllegalArgumentException("Date window is limited to " + MAX_WINDOW_DAYS + " days");
+        }
+        // Nothing before today can be booked; SlotCalendar.firstFree skips the slots already gone today
+        LocalDate today = LocalDate.now();
+        if (from.isBefore(today)) {
+            from = today;
+        }
+        if (to.isBefore(from)) {
+            return new ArrayList<>();
+        }
+
+        Set<Integer> candidates = searchIndex.providersMatchingAll(serviceType);
+
+        // Narrow to garages around the customer when a location is given
+        Map<Integer, Double> distances = new HashMap<>();
+        if (lat != null && lon != null) {
+            double radius = radiusKm != null ? radiusKm : DEFAULT_RADIUS_KM;
+            for (NearbyProviderDTO nearby : geoIndex.withinRadius(lat, lon, radius)) {
+                distances.put(nearby.getProvider().getId(), nearby.getDistanceKm());
+            }
+            candidates.retainAll(distances.keySet());
+        }
+
+        List<SlotOfferDTO> offers = new ArrayList<>();
+        for (Integer providerId : candidates) {
+            ProviderCatalogDTO provider = searchIndex.get(providerId);
+            if (provider == null) {
+                continue;
+            }
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                Optional<SlotDTO> slot = slotCalendar.firstFree(providerId, day, notBefore, notAfter);
+                if (slot.isPresent()) {
+                    offers.add(new SlotOfferDTO(providerId, provider.getGaragename(), provider.getGarageaddress(),
+                            day, slot.get().getTime(), slot.get().getRemaining(), distances.get(providerId)));
+                    break;
+                }
+            }
+        }
+
+        // Earliest first; nearer garage breaks ties
+        offers.sort(Comparator.comparing(SlotOfferDTO::getDate)
+                .thenComparing(SlotOfferDTO::getTime)
+                .thenComparing(o -> o.getDistanceKm() != null ? o.getDistanceKm() : Double.MAX_VALUE));
+        return offers.size() > limit ? new ArrayList<>(offers.subList(0, limit)) : offers;
+    }
+}
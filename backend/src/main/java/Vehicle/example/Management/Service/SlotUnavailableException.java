@@ -0,0 +1,8 @@
+package Vehicle.example.Management.Service;
+
+// Thrown when a requested booking slot is full or outside the provider's working hours
+public class SlotUnavailableException extends RuntimeException {
+    public SlotUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,120 @@
+package Vehicle.example.Management.Service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One open SSE connection. Publishers only enqueue; a single drain task at a time writes the
+// queue to the socket on the shared executor, so frames stay in order and a slow client never
+// blocks the publisher. An idle connection holds no thread at all.
+public class SseSubscriber {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final int maxPending;
+    private final Queue<Frame> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    public SseSubscriber(SseEmitter emitter, Executor executor, int maxPending) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.maxPending = maxPending;
+    }
+
+    public SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    public void send(String id, String name, Object data) {
+        offer(new Frame(id, name, data, null));
+    }
+
+    public void comment(String text) {
+        offer(new Frame(null, null, null, text));
+    }
+
+    private void offer(Frame frame) {
+        if (closed.get()) {
+            return;
+        }
+        // A client this far behind is cut off; it reconnects with Last-Event-ID and catches up from the replay buffer
+        if (pending.incrementAndGet() > maxPending) {
+            close();
+            return;
+        }
+        queue.add(frame);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                Frame frame;
+                while ((frame = queue.poll()) != null) {
+                    pending.decrementAndGet();
+                    emitter.send(frame.toEvent());
+                }
+                draining.set(false);
+                // Recheck: a frame may have landed between the last poll and the flag reset
+                if (queue.isEmpty() || !draining.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();
+        }
+    }
+
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            try {
+                emitter.complete();
+            } catch (IllegalStateException ignored) {
+                // Already completed by the container
+            }
+        }
+    }
+
+    private static class Frame {
+        final String id;
+        final String name;
+        final Object data;
+        final String comment;
+
+        Frame(String id, String name, Object data, String comment) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+            this.comment = comment;
+        }
+
+        SseEmitter.SseEventBuilder toEvent() {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (comment != null) {
+                return event.comment(comment);
+            }
+            if (id != null) {
+                event.id(id);
+            }
+            if (name != null) {
+                event.name(name);
+            }
+            return event.data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package Vehicle.example.Management.Service;
+
+// Thrown when a status change is not allowed from the current state,
+// or when another update got there first (stale version)
+public class StatusConflictException extends RuntimeException {
+    public StatusConflictException(String message) {
+        super(message);
+    }
+}
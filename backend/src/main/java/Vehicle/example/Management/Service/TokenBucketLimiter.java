@@ -0,0 +1,57 @@
+package Vehicle.example.Management.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// Token buckets keyed by string. Buckets live in a size-bounded Caffeine map (striped internally)
+// and are dropped once idle long enough to have refilled, since a full bucket and a missing one
+// behave the same. Each take is a compare-and-set on the bucket's immutable state; no locks.
+public class TokenBucketLimiter {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Cache<String, AtomicReference<State>> buckets;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+
+    public TokenBucketLimiter(int capacity, int perMinute, long maxKeys) {
+        if (capacity < 1 || perMinute < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and rate must be positive");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = perMinute / (double) Duration.ofMinutes(1).toNanos();
+        long refillNanos = (long) Math.ceil(capacity / tokensPerNano);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(refillNanos))
+                .build();
+    }
+
+    // 0 when a token was taken, otherwise the seconds until one will be available
+    public long tryAcquire(String key) {
+        AtomicReference<State> bucket = buckets.get(key, k -> new AtomicReference<>(new State(capacity, System.nanoTime())));
+        while (true) {
+            State current = bucket.get();
+            long now = System.nanoTime();
+            double tokens = Math.min(capacity, current.tokens + Math.max(0, now - current.at) * tokensPerNano);
+            if (tokens < 1) {
+                shed.increment();
+                return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano / 1e9));
+            }
+            if (bucket.compareAndSet(current, new State(tokens - 1, now))) {
+                allowed.increment();
+                return 0;
+            }
+        }
+    }
+
+    public long getAllowed() { return allowed.sum(); }
+    public long getShed() { return shed.sum(); }
+    public long getTrackedKeys() { return buckets.estimatedSize(); }
+
+    private record State(double tokens, long at) {}
+}
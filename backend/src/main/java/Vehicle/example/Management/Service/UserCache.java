@@ -0,0 +1,70 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.List.UserList;
+import Vehicle.example.Management.Repository.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Read-through username -> user cache. Concurrent misses for one username wait on a single
+// query (Caffeine computes each key once). Unknown usernames are cached as empty too, so
+// repeated lookups of a missing account stay off the database until the TTL or a write.
+// Cached users are detached and shared: read them, never modify them. Writers load their own
+// row (ServiceClass.loadByUsername) and invalidate the entry.
+@Service
+public class UserCache {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    private final Cache<String, Optional<UserList>> users = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(Duration.ofMinutes(5))
+            .recordStats()
+            .build();
+
+    public Optional<UserList> find(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        return users.get(username, userRepo::findByUsername);
+    }
+
+    // Drop now and again after commit, so a read racing the write can't re-cache the old row
+    public void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        users.invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.invalidate(username);
+                }
+            });
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = users.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", users.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("loads", stats.loadCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
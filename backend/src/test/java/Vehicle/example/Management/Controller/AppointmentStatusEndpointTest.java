@@ -0,0 +1,68 @@
+package Vehicle.example.Management.Controller;
+
+import Vehicle.example.Management.DTO.AppointmentResponseDTO;
+import Vehicle.example.Management.Service.AppointmentService;
+import Vehicle.example.Management.Service.StatusConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AppointmentStatusEndpointTest {
+
+	private AppointmentService appointmentService;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		appointmentService = mock(AppointmentService.class);
+		AppointmentController controller = new AppointmentController();
+		ReflectionTestUtils.setField(controller, "appointmentService", appointmentService);
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@Test
+	void staleVersionReturns409() throws Exception {
+		when(appointmentService.updateStatus(42L, "confirmed", 3L))
+				.thenThrow(new StatusConflictException("Appointment 42 is at version 4, not 3"));
+
+		mvc.perform(patch("/appointment/42/status")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"status\":\"confirmed\",\"version\":\"3\"}"))
+				.andExpect(status().isConflict());
+	}
+
+	@Test
+	void ifMatchIsUsedWhenTheBodyHasNoVersion() throws Exception {
+		AppointmentResponseDTO updated = new AppointmentResponseDTO();
+		updated.setVersion(4L);
+		when(appointmentService.updateStatus(42L, "confirmed", 3L)).thenReturn(Optional.of(updated));
+
+		mvc.perform(patch("/appointment/42/status")
+						.header("If-Match", "\"3\"")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"status\":\"confirmed\"}"))
+				.andExpect(status().isOk())
+				.andExpect(header().string("ETag", "\"4\""));
+	}
+
+	@Test
+	void unknownAppointmentReturns404() throws Exception {
+		when(appointmentService.updateStatus(42L, "confirmed", null)).thenReturn(Optional.empty());
+
+		mvc.perform(patch("/appointment/42/status")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"status\":\"confirmed\"}"))
+				.andExpect(status().isNotFound());
+	}
+}
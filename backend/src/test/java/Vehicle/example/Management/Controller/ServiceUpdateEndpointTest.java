@@ -0,0 +1,87 @@
+package Vehicle.example.Management.Controller;
+
+import Vehicle.example.Management.Config.TokenAuthFilter;
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import Vehicle.example.Management.List.ServiceDetails;
+import Vehicle.example.Management.List.Update;
+import Vehicle.example.Management.Service.ServiceLayer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ServiceUpdateEndpointTest {
+
+	private static final long EXPIRES = Long.MAX_VALUE;
+
+	private ServiceLayer serviceLayer;
+	private MockMvc mvc;
+
+	@BeforeEach
+	void setUp() {
+		serviceLayer = mock(ServiceLayer.class);
+		ServiceDetailsController controller = new ServiceDetailsController();
+		ReflectionTestUtils.setField(controller, "serviceDetailsService", serviceLayer);
+		mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		ServiceDetails service = new ServiceDetails();
+		service.setId(9L);
+		service.setAppointmentId(42L);
+		when(serviceLayer.getServiceById(9L)).thenReturn(service);
+		when(serviceLayer.getProviderId(service)).thenReturn(5);
+		when(serviceLayer.addUpdate(any(), any())).thenReturn(new Update());
+	}
+
+	@Test
+	void anonymousCallerGets401() throws Exception {
+		mvc.perform(postUpdate(9L)).andExpect(status().isUnauthorized());
+		verify(serviceLayer, never()).addUpdate(anyLong(), any());
+	}
+
+	@Test
+	void customerGets403() throws Exception {
+		mvc.perform(postUpdate(9L).requestAttr(TokenAuthFilter.PRINCIPAL,
+						new AuthPrincipal(AuthPrincipal.USER, 5, "asha", EXPIRES)))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void anotherProviderGets403() throws Exception {
+		mvc.perform(postUpdate(9L).requestAttr(TokenAuthFilter.PRINCIPAL,
+						new AuthPrincipal(AuthPrincipal.PROVIDER, 6, "ravi", EXPIRES)))
+				.andExpect(status().isForbidden());
+		verify(serviceLayer, never()).addUpdate(anyLong(), any());
+	}
+
+	@Test
+	void bookedProviderCanPost() throws Exception {
+		mvc.perform(postUpdate(9L).requestAttr(TokenAuthFilter.PRINCIPAL,
+						new AuthPrincipal(AuthPrincipal.PROVIDER, 5, "ravi", EXPIRES)))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void unknownServiceGets404() throws Exception {
+		mvc.perform(postUpdate(10L).requestAttr(TokenAuthFilter.PRINCIPAL,
+						new AuthPrincipal(AuthPrincipal.PROVIDER, 5, "ravi", EXPIRES)))
+				.andExpect(status().isNotFound());
+	}
+
+	private static MockHttpServletRequestBuilder postUpdate(long serviceId) {
+		return post("/api/services/" + serviceId + "/updates")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"step\":\"Oil drained\",\"completed\":true}");
+	}
+}
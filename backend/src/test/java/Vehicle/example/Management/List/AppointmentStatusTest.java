@@ -0,0 +1,60 @@
+package Vehicle.example.Management.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AppointmentStatusTest {
+
+	@Test
+	void lifecycleMovesForward() {
+		assertThat(AppointmentStatus.PENDING.canMoveTo(AppointmentStatus.CONFIRMED)).isTrue();
+		assertThat(AppointmentStatus.CONFIRMED.canMoveTo(AppointmentStatus.IN_PROGRESS)).isTrue();
+		assertThat(AppointmentStatus.IN_PROGRESS.canMoveTo(AppointmentStatus.COMPLETED)).isTrue();
+	}
+
+	@Test
+	void forwardStepsMayBeSkipped() {
+		assertThat(AppointmentStatus.PENDING.canMoveTo(AppointmentStatus.IN_PROGRESS)).isTrue();
+		assertThat(AppointmentStatus.PENDING.canMoveTo(AppointmentStatus.COMPLETED)).isTrue();
+		assertThat(AppointmentStatus.CONFIRMED.canMoveTo(AppointmentStatus.COMPLETED)).isTrue();
+	}
+
+	@Test
+	void lifecycleNeverMovesBack() {
+		assertThat(AppointmentStatus.CONFIRMED.canMoveTo(AppointmentStatus.PENDING)).isFalse();
+		assertThat(AppointmentStatus.IN_PROGRESS.canMoveTo(AppointmentStatus.CONFIRMED)).isFalse();
+	}
+
+	@Test
+	void unfinishedAppointmentsCanBeCancelled() {
+		assertThat(AppointmentStatus.PENDING.canMoveTo(AppointmentStatus.CANCELLED)).isTrue();
+		assertThat(AppointmentStatus.CONFIRMED.canMoveTo(AppointmentStatus.CANCELLED)).isTrue();
+		assertThat(AppointmentStatus.IN_PROGRESS.canMoveTo(AppointmentStatus.CANCELLED)).isTrue();
+	}
+
+	@Test
+	void finishedAppointmentsAreFinal() {
+		assertThat(AppointmentStatus.COMPLETED.next()).isEmpty();
+		assertThat(AppointmentStatus.CANCELLED.next()).isEmpty();
+	}
+
+	@Test
+	void fromAcceptsLabelsAndEnumNamesInAnyCase() {
+		assertThat(AppointmentStatus.from("In-Progress")).isEqualTo(AppointmentStatus.IN_PROGRESS);
+		assertThat(AppointmentStatus.from("IN_PROGRESS")).isEqualTo(AppointmentStatus.IN_PROGRESS);
+		assertThat(AppointmentStatus.from(" completed ")).isEqualTo(AppointmentStatus.COMPLETED);
+		assertThat(AppointmentStatus.from("in progress")).isEqualTo(AppointmentStatus.IN_PROGRESS);
+		assertThat(AppointmentStatus.from(null)).isEqualTo(AppointmentStatus.PENDING);
+		assertThatThrownBy(() -> AppointmentStatus.from("shipped")).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void legacyLabelsMapOntoTheLifecycle() {
+		assertThat(AppointmentStatus.from("Approved")).isEqualTo(AppointmentStatus.CONFIRMED);
+		assertThat(AppointmentStatus.from("scheduled")).isEqualTo(AppointmentStatus.PENDING);
+		assertThat(AppointmentStatus.from("done")).isEqualTo(AppointmentStatus.COMPLETED);
+		assertThat(AppointmentStatus.from("canceled")).isEqualTo(AppointmentStatus.CANCELLED);
+	}
+}
@@ -0,0 +1,136 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.AppointmentDTO;
+import Vehicle.example.Management.DTO.AppointmentResponseDTO;
+import Vehicle.example.Management.DTO.CursorPage;
+import Vehicle.example.Management.Repository.AppointmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentQueryServiceTest {
+
+	private AppointmentQueryService service;
+	private EntityManager entityManager;
+	private TypedQuery<AppointmentResponseDTO> typedQuery;
+	private AppointmentRepository appointmentRepository;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		service = new AppointmentQueryService();
+		entityManager = mock(EntityManager.class);
+		typedQuery = mock(TypedQuery.class);
+		when(entityManager.createQuery(anyString(), eq(AppointmentResponseDTO.class))).thenReturn(typedQuery);
+		ReflectionTestUtils.setField(service, "entityManager", entityManager);
+		appointmentRepository = mock(AppointmentRepository.class);
+		ReflectionTestUtils.setField(service, "appointmentRepository", appointmentRepository);
+	}
+
+	@Test
+	void nextCursorResumesAfterTheLastRowOfThePage() {
+		when(typedQuery.getResultList()).thenReturn(List.of(
+				row(1L, LocalDate.of(2030, 5, 6), LocalTime.of(9, 0)),
+				row(2L, LocalDate.of(2030, 5, 6), LocalTime.of(9, 30)),
+				row(3L, LocalDate.of(2030, 5, 7), LocalTime.of(9, 0))));
+
+		CursorPage<AppointmentResponseDTO> first = service.query(null, null, null, null, null, null, null, null, 2);
+
+		assertThat(first.getItems()).extracting(AppointmentResponseDTO::getId).containsExactly(1L, 2L);
+		assertThat(first.getNextCursor()).isNotNull();
+		verify(typedQuery).setMaxResults(3);
+
+		service.query(null, null, null, null, null, null, null, first.getNextCursor(), 2);
+
+		verify(entityManager).createQuery(contains("a.date = :cDate AND a.time = :cTime AND a.id > :cId"),
+				eq(AppointmentResponseDTO.class));
+		verify(typedQuery).setParameter("cDate", LocalDate.of(2030, 5, 6));
+		verify(typedQuery).setParameter("cTime", LocalTime.of(9, 30));
+		verify(typedQuery).setParameter("cId", 2L);
+	}
+
+	@Test
+	void lastPageHasNoCursor() {
+		when(typedQuery.getResultList()).thenReturn(List.of(row(1L, LocalDate.of(2030, 5, 6), LocalTime.of(9, 0))));
+
+		CursorPage<AppointmentResponseDTO> page = service.query(null, null, null, null, null, null, null, null, 2);
+
+		assertThat(page.getItems()).hasSize(1);
+		assertThat(page.getNextCursor()).isNull();
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThatThrownBy(() -> service.query(null, null, null, null, null, null, null, "not-a-cursor", 2))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void historyCursorResumesAfterADatedRow() {
+		when(appointmentRepository.findHistory(eq(9L), any(Pageable.class))).thenReturn(List.of(
+				history(30L, LocalDate.of(2030, 5, 7)),
+				history(20L, LocalDate.of(2030, 5, 6)),
+				history(10L, LocalDate.of(2030, 5, 6))));
+
+		CursorPage<AppointmentDTO> first = service.history(9L, null, 2);
+
+		assertThat(first.getItems()).extracting(AppointmentDTO::getId).containsExactly(30L, 20L);
+		service.history(9L, first.getNextCursor(), 2);
+
+		verify(appointmentRepository).findHistoryBefore(eq(9L), eq(LocalDate.of(2030, 5, 6)), eq(20L), any(Pageable.class));
+	}
+
+	@Test
+	void historyCursorResumesAfterAnUndatedRow() {
+		when(appointmentRepository.findHistory(eq(9L), any(Pageable.class))).thenReturn(List.of(
+				history(50L, null),
+				history(40L, null),
+				history(30L, LocalDate.of(2030, 5, 7))));
+
+		CursorPage<AppointmentDTO> first = service.history(9L, null, 2);
+		service.history(9L, first.getNextCursor(), 2);
+
+		verify(appointmentRepository).findHistoryBeforeUndated(eq(9L), eq(40L), any(Pageable.class));
+	}
+
+	@Test
+	void historyLastPageHasNoCursor() {
+		when(appointmentRepository.findHistory(eq(9L), any(Pageable.class))).thenReturn(List.of(history(10L, null)));
+
+		assertThat(service.history(9L, null, 2).getNextCursor()).isNull();
+	}
+
+	@Test
+	void historyRejectsAMalformedCursor() {
+		assertThatThrownBy(() -> service.history(9L, "not-a-cursor", 2)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private static AppointmentDTO history(Long id, LocalDate date) {
+		return new AppointmentDTO(id, "Swift", "oil change", "pending", date, LocalTime.of(9, 0));
+	}
+
+	private static AppointmentResponseDTO row(Long id, LocalDate date, LocalTime time) {
+		AppointmentResponseDTO dto = new AppointmentResponseDTO();
+		dto.setId(id);
+		dto.setDate(date);
+		dto.setTime(time);
+		return dto;
+	}
+}
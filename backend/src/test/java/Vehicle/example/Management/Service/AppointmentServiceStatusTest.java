@@ -0,0 +1,129 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.AppointmentResponseDTO;
+import Vehicle.example.Management.DTO.AppointmentStatusView;
+import Vehicle.example.Management.List.AppointmentStatusEvent;
+import Vehicle.example.Management.Repository.AppointmentRepository;
+import Vehicle.example.Management.Repository.AppointmentStatusEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AppointmentServiceStatusTest {
+
+	private static final Long ID = 42L;
+
+	private AppointmentRepository appointmentRepo;
+	private AppointmentStatusEventRepository statusEventRepo;
+	private SlotCalendar slotCalendar;
+	private BillingService billingService;
+	private AppointmentService service;
+
+	@BeforeEach
+	void setUp() {
+		appointmentRepo = mock(AppointmentRepository.class);
+		statusEventRepo = mock(AppointmentStatusEventRepository.class);
+		slotCalendar = mock(SlotCalendar.class);
+		billingService = mock(BillingService.class);
+		service = new AppointmentService(appointmentRepo, slotCalendar, statusEventRepo,
+				mock(ApplicationEventPublisher.class), mock(ServiceLayer.class), billingService);
+		when(appointmentRepo.findResponseDTOById(ID)).thenReturn(Optional.of(new AppointmentResponseDTO()));
+	}
+
+	@Test
+	void allowedTransitionIsWrittenAndLogged() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.of(view("pending", 3L)));
+		when(appointmentRepo.transitionStatus(ID, "pending", "confirmed", 3L)).thenReturn(1);
+
+		assertThat(service.updateStatus(ID, "confirmed", 3L)).isPresent();
+
+		verify(statusEventRepo).save(any(AppointmentStatusEvent.class));
+	}
+
+	@Test
+	void staleVersionIsAConflict() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.of(view("pending", 4L)));
+
+		assertThatThrownBy(() -> service.updateStatus(ID, "confirmed", 3L))
+				.isInstanceOf(StatusConflictException.class);
+		verify(appointmentRepo, never()).transitionStatus(any(), anyString(), anyString(), anyLong());
+	}
+
+	@Test
+	void losingTheRaceToAnotherUpdateIsAConflict() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.of(view("pending", 3L)));
+		when(appointmentRepo.transitionStatus(ID, "pending", "confirmed", 3L)).thenReturn(0);
+
+		assertThatThrownBy(() -> service.updateStatus(ID, "confirmed", null))
+				.isInstanceOf(StatusConflictException.class);
+		verify(statusEventRepo, never()).save(any());
+	}
+
+	@Test
+	void completingAPendingAppointmentCreatesTheBill() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.of(view("pending", 3L)));
+		when(appointmentRepo.transitionStatus(ID, "pending", "completed", 3L)).thenReturn(1);
+
+		assertThat(service.updateStatus(ID, "completed", 3L)).isPresent();
+
+		verify(billingService).createBillingFromAppointment(ID);
+	}
+
+	@Test
+	void walkingBackIsAConflict() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.of(view("in-progress", 3L)));
+
+		assertThatThrownBy(() -> service.updateStatus(ID, "confirmed", 3L))
+				.isInstanceOf(StatusConflictException.class);
+		verify(billingService, never()).createBillingFromAppointment(anyLong());
+	}
+
+	@Test
+	void legacyStoredLabelIsReadAsItsStatus() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.of(view("approved", 3L)));
+		when(appointmentRepo.transitionStatus(ID, "approved", "in-progress", 3L)).thenReturn(1);
+
+		assertThat(service.updateStatus(ID, "in-progress", 3L)).isPresent();
+	}
+
+	@Test
+	void cancellingGivesTheSeatBack() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.of(view("confirmed", 1L)));
+		when(appointmentRepo.transitionStatus(ID, "confirmed", "cancelled", 1L)).thenReturn(1);
+
+		service.updateStatus(ID, "cancelled", 1L);
+
+		verify(slotCalendar).release(5, LocalDate.of(2030, 5, 6), LocalTime.of(10, 0));
+	}
+
+	@Test
+	void unknownAppointmentIsEmpty() {
+		when(appointmentRepo.findStatusViewById(ID)).thenReturn(Optional.empty());
+
+		assertThat(service.updateStatus(ID, "confirmed", null)).isEmpty();
+	}
+
+	private static AppointmentStatusView view(String status, Long version) {
+		return new AppointmentStatusView() {
+			public String getStatus() { return status; }
+			public Long getVersion() { return version; }
+			public Integer getProviderId() { return 5; }
+			public LocalDate getDate() { return LocalDate.of(2030, 5, 6); }
+			public LocalTime getTime() { return LocalTime.of(10, 0); }
+		};
+	}
+}
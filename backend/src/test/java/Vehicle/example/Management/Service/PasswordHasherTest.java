@@ -0,0 +1,54 @@
+package Vehicle.example.Management.Service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTest {
+
+	// The minimum cost keeps the suite fast; the cost itself is not under test
+	private final PasswordHasher hasher = new PasswordHasher(10_000);
+
+	@Test
+	void hashMatchesOnlyTheOriginalPassword() {
+		String stored = hasher.hash("s3cret!");
+
+		assertThat(stored).startsWith("pbkdf2-sha256$10000$");
+		assertThat(hasher.matches("s3cret!", stored)).isTrue();
+		assertThat(hasher.matches("s3cret", stored)).isFalse();
+	}
+
+	@Test
+	void samePasswordGetsADifferentSalt() {
+		assertThat(hasher.hash("s3cret!")).isNotEqualTo(hasher.hash("s3cret!"));
+	}
+
+	@Test
+	void legacyPlaintextIsComparedAsIs() {
+		assertThat(hasher.matches("s3cret!", "s3cret!")).isTrue();
+		assertThat(hasher.matches("S3cret!", "s3cret!")).isFalse();
+		assertThat(hasher.needsRehash("s3cret!")).isTrue();
+	}
+
+	@Test
+	void hashWithAnotherCostStillMatchesButNeedsRehash() {
+		String older = new PasswordHasher(12_000).hash("s3cret!");
+
+		assertThat(hasher.matches("s3cret!", older)).isTrue();
+		assertThat(hasher.needsRehash(older)).isTrue();
+		assertThat(hasher.needsRehash(hasher.hash("s3cret!"))).isFalse();
+	}
+
+	@Test
+	void corruptHashDoesNotMatch() {
+		assertThat(hasher.matches("s3cret!", "pbkdf2-sha256$abc$salt$hash")).isFalse();
+		assertThat(hasher.matches(null, hasher.hash("s3cret!"))).isFalse();
+		assertThat(hasher.matches("s3cret!", null)).isFalse();
+	}
+
+	@Test
+	void tooFewIterationsAreRejected() {
+		assertThatThrownBy(() -> new PasswordHasher(1_000)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
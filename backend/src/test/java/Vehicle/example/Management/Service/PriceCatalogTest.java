@@ -0,0 +1,101 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.List.ServicePrice;
+import Vehicle.example.Management.Repository.ServicePriceRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PriceCatalogTest {
+
+	private static final LocalDate SINCE = LocalDate.of(2020, 1, 1);
+	private static final LocalDate DAY = LocalDate.of(2030, 5, 6);
+
+	@Test
+	void providerAndVehicleSpecificPriceWins() {
+		PriceCatalog catalog = catalogOf(
+				price("oil change", null, null, 1500.00, SINCE),
+				price("oil change", null, "suv", 1700.00, SINCE),
+				price("oil change", 4, null, 1400.00, SINCE),
+				price("oil change", 4, "suv", 1600.00, SINCE));
+
+		assertThat(catalog.price("Oil Change", 4, "SUV", DAY)).isEqualTo(1600.00);
+		assertThat(catalog.price("oil change", 4, "sedan", DAY)).isEqualTo(1400.00);
+		assertThat(catalog.price("oil change", 9, "suv", DAY)).isEqualTo(1700.00);
+		assertThat(catalog.price("oil change", 9, null, DAY)).isEqualTo(1500.00);
+	}
+
+	@Test
+	void providerMatchOutranksVehicleMatch() {
+		PriceCatalog catalog = catalogOf(
+				price("oil change", null, "suv", 1700.00, SINCE),
+				price("oil change", 4, null, 1400.00, SINCE));
+
+		assertThat(catalog.price("oil change", 4, "suv", DAY)).isEqualTo(1400.00);
+	}
+
+	@Test
+	void newestEffectiveEntryWinsAndExpiredOnesAreSkipped() {
+		ServicePrice expired = price("oil change", null, null, 1300.00, SINCE);
+		expired.setEffectiveTo(LocalDate.of(2025, 1, 1));
+		PriceCatalog catalog = catalogOf(
+				expired,
+				price("oil change", null, null, 1500.00, LocalDate.of(2024, 1, 1)),
+				price("oil change", null, null, 1550.00, LocalDate.of(2029, 1, 1)),
+				price("oil change", null, null, 1900.00, LocalDate.of(2031, 1, 1)));
+
+		assertThat(catalog.price("oil change", null, null, DAY)).isEqualTo(1550.00);
+		assertThat(catalog.price("oil change", null, null, LocalDate.of(2022, 6, 1))).isEqualTo(1300.00);
+	}
+
+	@Test
+	void unknownServiceFallsBackToTheDefaultEntry() {
+		PriceCatalog catalog = catalogOf(
+				price("oil change", null, null, 1500.00, SINCE),
+				price(PriceCatalog.DEFAULT_SERVICE, null, null, 2200.00, SINCE));
+
+		assertThat(catalog.price("wheel balancing", 4, "suv", DAY)).isEqualTo(2200.00);
+	}
+
+	@Test
+	void emptyCatalogChargesTheFallbackPrice() {
+		assertThat(catalogOf().price("oil change", 4, "suv", DAY)).isEqualTo(2000.00);
+	}
+
+	@Test
+	void versionChangesWithTheRows() {
+		PriceCatalog first = catalogOf(price("oil change", null, null, 1500.00, SINCE));
+		PriceCatalog same = catalogOf(price("oil change", null, null, 1500.00, SINCE));
+		PriceCatalog changed = catalogOf(price("oil change", null, null, 1550.00, SINCE));
+
+		assertThat(first.getVersion()).isEqualTo(same.getVersion());
+		assertThat(first.getVersion()).isNotEqualTo(changed.getVersion());
+	}
+
+	private static PriceCatalog catalogOf(ServicePrice... rows) {
+		List<ServicePrice> stored = new ArrayList<>();
+		for (int i = 0; i < rows.length; i++) {
+			rows[i].setId((long) i + 1);
+			stored.add(rows[i]);
+		}
+		ServicePriceRepo repo = mock(ServicePriceRepo.class);
+		when(repo.findAllByOrderByIdAsc()).thenReturn(stored);
+
+		PriceCatalog catalog = new PriceCatalog();
+		ReflectionTestUtils.setField(catalog, "priceRepo", repo);
+		catalog.reload();
+		return catalog;
+	}
+
+	private static ServicePrice price(String serviceType, Integer providerId, String vehicleType, double amount,
+	                                  LocalDate from) {
+		return new ServicePrice(serviceType, providerId, vehicleType, amount, from);
+	}
+}
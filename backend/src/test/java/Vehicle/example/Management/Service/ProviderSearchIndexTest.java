@@ -0,0 +1,85 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProviderSearchIndexTest {
+
+	private ProviderSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ProviderSearchIndex();
+		index.index(provider(1, "Speedy Motors", "Oil Change, Tire Rotation", "Sector 12, Noida"));
+		index.index(provider(2, "Brake Masters", "Brake Service, Wheel Alignment", "MG Road, Pune"));
+		index.index(provider(3, "City Auto Care", "Engine Diagnostic, AC Service", "Andheri, Mumbai"));
+	}
+
+	@Test
+	void exactTokenMatches() {
+		assertThat(index.search("brake", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(2);
+	}
+
+	@Test
+	void prefixMatches() {
+		assertThat(index.search("diag", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(3);
+		assertThat(index.search("rot", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(1);
+	}
+
+	@Test
+	void singleTypoMatchesForMediumTokens() {
+		assertThat(index.search("brkae", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(2);
+		assertThat(index.search("motrs", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(1);
+	}
+
+	@Test
+	void twoTyposMatchForLongTokens() {
+		assertThat(index.search("alignmnet", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(2);
+		assertThat(index.search("diagnotsci", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(3);
+	}
+
+	@Test
+	void shortTokensAreNotFuzzed() {
+		assertThat(index.search("ab", 10)).isEmpty();
+	}
+
+	@Test
+	void moreMatchedTokensRankFirst() {
+		index.index(provider(4, "Noida Brake Point", "Brake Service", "Sector 18, Noida"));
+
+		assertThat(index.search("brake noida", 10)).extracting(ProviderCatalogDTO::getId).startsWith(4);
+	}
+
+	@Test
+	void reindexingReplacesOldTerms() {
+		index.index(provider(2, "Brake Masters", "Battery Replacement", "MG Road, Pune"));
+
+		assertThat(index.search("alignment", 10)).isEmpty();
+		assertThat(index.search("battery", 10)).extracting(ProviderCatalogDTO::getId).containsExactly(2);
+	}
+
+	@Test
+	void removedProvidersAreNotFound() {
+		index.remove(2);
+
+		assertThat(index.search("brake", 10)).isEmpty();
+	}
+
+	@Test
+	void distanceCountsTranspositionsAsOneEdit() {
+		assertThat(ProviderSearchIndex.withinDistance("brake", "brkae", 1)).isTrue();
+		assertThat(ProviderSearchIndex.withinDistance("brake", "bark", 1)).isFalse();
+	}
+
+	private static ProviderCatalogDTO provider(int id, String name, String services, String address) {
+		ProviderCatalogDTO dto = new ProviderCatalogDTO();
+		dto.setId(id);
+		dto.setGaragename(name);
+		dto.setAvailableservices(services);
+		dto.setGarageaddress(address);
+		return dto;
+	}
+}
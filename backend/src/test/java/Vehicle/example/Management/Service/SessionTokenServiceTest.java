@@ -0,0 +1,107 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.AuthPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SessionTokenServiceTest {
+
+	private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+	private static final String OTHER_SECRET = Base64.getEncoder().encodeToString("another-32-byte-signing-key-here".getBytes(StandardCharsets.US_ASCII));
+	private static final String STREAM = "/api/provider/4/events";
+
+	private final SessionTokenService tokens = new SessionTokenService(SECRET, 12, new MockEnvironment());
+
+	@Test
+	void issuedTokenValidatesToTheSamePrincipal() {
+		AuthPrincipal principal = tokens.validate(tokens.issueForUser(42, "asha")).orElseThrow();
+
+		assertThat(principal.isUser()).isTrue();
+		assertThat(principal.getId()).isEqualTo(42);
+		assertThat(principal.getName()).isEqualTo("asha");
+	}
+
+	@Test
+	void tokenSignedWithAnotherKeyIsRejected() {
+		String forged = new SessionTokenService(OTHER_SECRET, 12, new MockEnvironment()).issueForProvider(4, "ravi");
+
+		assertThat(tokens.validate(forged)).isEmpty();
+	}
+
+	@Test
+	void tamperedPayloadIsRejected() {
+		String token = tokens.issueForUser(42, "asha");
+		String signature = token.substring(token.indexOf('.'));
+		long expires = tokens.validate(token).orElseThrow().getExpiresAt();
+		String payload = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(("p:42:" + expires + ":asha").getBytes(StandardCharsets.UTF_8));
+
+		assertThat(tokens.validate(payload + signature)).isEmpty();
+	}
+
+	@Test
+	void malformedTokensAreRejected() {
+		assertThat(tokens.validate(null)).isEmpty();
+		assertThat(tokens.validate("")).isEmpty();
+		assertThat(tokens.validate("no-signature")).isEmpty();
+		assertThat(tokens.validate("a.b.c")).isEmpty();
+		assertThat(tokens.validate("!!!.???")).isEmpty();
+	}
+
+	@Test
+	void expiredTokenIsRejected() {
+		SessionTokenService expired = new SessionTokenService(SECRET, -1, new MockEnvironment());
+
+		assertThat(expired.validate(expired.issueForUser(42, "asha"))).isEmpty();
+	}
+
+	@Test
+	void ticketOpensOnlyTheStreamItWasIssuedFor() {
+		AuthPrincipal provider = tokens.validate(tokens.issueForProvider(4, "ravi")).orElseThrow();
+		String ticket = tokens.issueStreamTicket(provider, STREAM);
+
+		AuthPrincipal opened = tokens.validateStreamTicket(ticket, STREAM).orElseThrow();
+		assertThat(opened.isProvider()).isTrue();
+		assertThat(opened.getId()).isEqualTo(4);
+		assertThat(tokens.validateStreamTicket(ticket, "/api/provider/5/events")).isEmpty();
+	}
+
+	@Test
+	void ticketsAndSessionTokensAreNotInterchangeable() {
+		String token = tokens.issueForProvider(4, "ravi");
+		String ticket = tokens.issueStreamTicket(tokens.validate(token).orElseThrow(), STREAM);
+
+		assertThat(tokens.validate(ticket)).isEmpty();
+		assertThat(tokens.validateStreamTicket(token, STREAM)).isEmpty();
+	}
+
+	@Test
+	void blankSecretFailsOutsideDevAndTest() {
+		assertThatThrownBy(() -> new SessionTokenService("", 12, new MockEnvironment()))
+				.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void blankSecretFallsBackToARandomKeyUnderTheTestProfile() {
+		MockEnvironment environment = new MockEnvironment();
+		environment.setActiveProfiles("test");
+		SessionTokenService random = new SessionTokenService("", 12, environment);
+
+		assertThat(random.validate(random.issueForUser(42, "asha"))).isPresent();
+		assertThat(tokens.validate(random.issueForUser(42, "asha"))).isEmpty();
+	}
+
+	@Test
+	void shortSecretIsRejected() {
+		String shortSecret = Base64.getEncoder().encodeToString(new byte[16]);
+
+		assertThatThrownBy(() -> new SessionTokenService(shortSecret, 12, new MockEnvironment()))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,192 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.ProviderScheduleView;
+import Vehicle.example.Management.Repository.AppointmentRepository;
+import Vehicle.example.Management.Repository.ProviderRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SlotCalendarTest {
+
+	private static final int PROVIDER = 7;
+	private static final LocalDate DAY = LocalDate.of(2030, 5, 6);
+
+	private SlotCalendar calendar;
+
+	@BeforeEach
+	void setUp() {
+		calendar = calendarWithCapacity(2);
+	}
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void reserveReturnsTheStartOfTheSlotContainingTheTime() {
+		assertThat(calendar.reserve(PROVIDER, DAY, LocalTime.of(10, 20))).isEqualTo(LocalTime.of(10, 0));
+	}
+
+	@Test
+	void reserveOutsideWorkingHoursIsRejected() {
+		assertThatThrownBy(() -> calendar.reserve(PROVIDER, DAY, LocalTime.of(19, 0)))
+				.isInstanceOf(SlotUnavailableException.class);
+	}
+
+	@Test
+	void reserveInThePastIsRejected() {
+		assertThatThrownBy(() -> calendar.reserve(PROVIDER, LocalDate.now().minusDays(1), LocalTime.of(10, 0)))
+				.isInstanceOf(SlotUnavailableException.class);
+	}
+
+	@Test
+	void evictedDaysAreReloadedOnNextUse() {
+		calendar = calendarWithCapacity(1);
+		calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0));
+
+		calendar.evictProvider(PROVIDER);
+
+		// The mocked table has no bookings, so the reloaded day is empty again
+		assertThat(calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0))).isEqualTo(LocalTime.of(9, 0));
+	}
+
+	@Test
+	void firstFreeNeverOffersPastDays() {
+		assertThat(calendar.firstFree(PROVIDER, LocalDate.now().minusDays(1), null, null)).isEmpty();
+	}
+
+	@Test
+	void evictingRewarmsTheHorizonInOneQuery() {
+		AppointmentRepository appointmentRepository =
+				(AppointmentRepository) ReflectionTestUtils.getField(calendar, "appointmentRepository");
+
+		calendar.evictProvider(PROVIDER);
+		calendar.firstFree(PROVIDER, LocalDate.now().plusDays(3), null, null);
+		calendar.firstFree(PROVIDER, LocalDate.now().plusDays(20), null, null);
+
+		verify(appointmentRepository, times(1)).countActiveBookings(anyInt(), any(), any());
+	}
+
+	@Test
+	void concurrentBookersNeverTakeMoreThanTheLastSeat() throws Exception {
+		int threads = 16;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> attempts = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			attempts.add(pool.submit(() -> {
+				start.await();
+				try {
+					calendar.reserve(PROVIDER, DAY, LocalTime.of(11, 0));
+					return true;
+				} catch (SlotUnavailableException e) {
+					return false;
+				}
+			}));
+		}
+		start.countDown();
+
+		int booked = 0;
+		for (Future<Boolean> attempt : attempts) {
+			if (attempt.get(10, TimeUnit.SECONDS)) {
+				booked++;
+			}
+		}
+		pool.shutdown();
+
+		assertThat(booked).isEqualTo(2);
+		assertThat(calendar.firstFree(PROVIDER, DAY, LocalTime.of(11, 0), LocalTime.of(11, 0))).isEmpty();
+	}
+
+	@Test
+	void seatIsGivenBackWhenTheBookingRollsBack() {
+		calendar = calendarWithCapacity(1);
+
+		TransactionSynchronizationManager.initSynchronization();
+		calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0));
+		List<TransactionSynchronization> hooks = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+
+		assertThatThrownBy(() -> calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0)))
+				.isInstanceOf(SlotUnavailableException.class);
+
+		hooks.forEach(hook -> hook.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+		assertThat(calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0))).isEqualTo(LocalTime.of(9, 0));
+	}
+
+	@Test
+	void seatIsKeptWhenTheBookingCommits() {
+		calendar = calendarWithCapacity(1);
+
+		TransactionSynchronizationManager.initSynchronization();
+		calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0));
+		List<TransactionSynchronization> hooks = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+
+		hooks.forEach(hook -> hook.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+		assertThatThrownBy(() -> calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0)))
+				.isInstanceOf(SlotUnavailableException.class);
+	}
+
+	@Test
+	void releasedSeatCanBeBookedAgain() {
+		calendar = calendarWithCapacity(1);
+		calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0));
+
+		calendar.release(PROVIDER, DAY, LocalTime.of(9, 15));
+
+		assertThat(calendar.reserve(PROVIDER, DAY, LocalTime.of(9, 0))).isEqualTo(LocalTime.of(9, 0));
+	}
+
+	// 09:00-18:00 in 30-minute slots, no existing bookings
+	private static SlotCalendar calendarWithCapacity(int capacity) {
+		ProviderRepo providerRepo = mock(ProviderRepo.class);
+		AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+		when(providerRepo.findScheduleById(anyInt())).thenReturn(Optional.of(schedule(capacity)));
+		when(appointmentRepository.countActiveBookings(anyInt(), any(), any())).thenReturn(List.of());
+
+		SlotCalendar calendar = new SlotCalendar();
+		ReflectionTestUtils.setField(calendar, "providerRepo", providerRepo);
+		ReflectionTestUtils.setField(calendar, "appointmentRepository", appointmentRepository);
+		return calendar;
+	}
+
+	private static ProviderScheduleView schedule(int capacity) {
+		return new ProviderScheduleView() {
+			public Integer getId() { return PROVIDER; }
+			public LocalTime getOpeningTime() { return LocalTime.of(9, 0); }
+			public LocalTime getClosingTime() { return LocalTime.of(18, 0); }
+			public Integer getSlotMinutes() { return 30; }
+			public Integer getSlotCapacity() { return capacity; }
+		};
+	}
+}
@@ -0,0 +1,136 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.DTO.NearbyProviderDTO;
+import Vehicle.example.Management.DTO.ProviderCatalogDTO;
+import Vehicle.example.Management.DTO.SlotDTO;
+import Vehicle.example.Management.DTO.SlotOfferDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SlotSearchServiceTest {
+
+	private static final LocalDate SATURDAY = LocalDate.of(2030, 5, 4);
+	private static final LocalTime MORNING = LocalTime.of(9, 0);
+	private static final LocalTime NOON = LocalTime.of(12, 0);
+
+	private SlotSearchService service;
+	private SlotCalendar slotCalendar;
+	private ProviderGeoIndex geoIndex;
+	private ProviderSearchIndex searchIndex;
+
+	@BeforeEach
+	void setUp() {
+		searchIndex = new ProviderSearchIndex();
+		searchIndex.index(provider(1, "Brake Masters", "Brake Service"));
+		searchIndex.index(provider(2, "Stop Right", "Brake Service, Oil Change"));
+		searchIndex.index(provider(3, "Speedy Motors", "Oil Change"));
+		slotCalendar = mock(SlotCalendar.class);
+		geoIndex = mock(ProviderGeoIndex.class);
+
+		service = new SlotSearchService();
+		ReflectionTestUtils.setField(service, "searchIndex", searchIndex);
+		ReflectionTestUtils.setField(service, "slotCalendar", slotCalendar);
+		ReflectionTestUtils.setField(service, "geoIndex", geoIndex);
+	}
+
+	@Test
+	void earliestSlotAcrossMatchingProvidersComesFirst() {
+		free(1, SATURDAY, LocalTime.of(11, 0));
+		free(2, SATURDAY, LocalTime.of(9, 30));
+		free(3, SATURDAY, LocalTime.of(9, 0));
+
+		List<SlotOfferDTO> offers = service.firstAvailable("brake service", SATURDAY, SATURDAY, MORNING, NOON,
+				null, null, null, 10);
+
+		assertThat(offers).extracting(SlotOfferDTO::getProviderId).containsExactly(2, 1);
+		assertThat(offers.get(0).getTime()).isEqualTo(LocalTime.of(9, 30));
+	}
+
+	@Test
+	void fullyBookedDaysAreSkippedUntilAFreeOne() {
+		free(1, SATURDAY.plusDays(2), LocalTime.of(10, 0));
+
+		List<SlotOfferDTO> offers = service.firstAvailable("brake service", SATURDAY, SATURDAY.plusDays(3),
+				MORNING, NOON, null, null, null, 10);
+
+		assertThat(offers).extracting(SlotOfferDTO::getProviderId).containsExactly(1);
+		assertThat(offers.get(0).getDate()).isEqualTo(SATURDAY.plusDays(2));
+	}
+
+	@Test
+	void locationNarrowsCandidatesAndDistanceBreaksTies() {
+		free(1, SATURDAY, LocalTime.of(10, 0));
+		free(2, SATURDAY, LocalTime.of(10, 0));
+		when(geoIndex.withinRadius(anyDouble(), anyDouble(), anyDouble())).thenReturn(List.of(
+				new NearbyProviderDTO(searchIndex.get(1), 4.5),
+				new NearbyProviderDTO(searchIndex.get(2), 1.2),
+				new NearbyProviderDTO(searchIndex.get(3), 0.5)));
+
+		List<SlotOfferDTO> offers = service.firstAvailable("brake service", SATURDAY, SATURDAY, MORNING, NOON,
+				18.52, 73.85, 10.0, 10);
+
+		assertThat(offers).extracting(SlotOfferDTO::getProviderId).containsExactly(2, 1);
+		assertThat(offers).extracting(SlotOfferDTO::getDistanceKm).containsExactly(1.2, 4.5);
+	}
+
+	@Test
+	void resultsAreCappedAtTheLimit() {
+		free(1, SATURDAY, LocalTime.of(11, 0));
+		free(2, SATURDAY, LocalTime.of(9, 30));
+
+		assertThat(service.firstAvailable("brake service", SATURDAY, SATURDAY, MORNING, NOON, null, null, null, 1))
+				.extracting(SlotOfferDTO::getProviderId).containsExactly(2);
+	}
+
+	@Test
+	void pastDaysAreNotSearched() {
+		LocalDate today = LocalDate.now();
+		free(1, today.minusDays(2), LocalTime.of(10, 0));
+		free(1, today.plusDays(1), LocalTime.of(10, 0));
+
+		List<SlotOfferDTO> offers = service.firstAvailable("brake service", today.minusDays(3), today.plusDays(1),
+				MORNING, NOON, null, null, null, 10);
+
+		assertThat(offers).extracting(SlotOfferDTO::getDate).containsExactly(today.plusDays(1));
+	}
+
+	@Test
+	void windowEntirelyInThePastIsEmpty() {
+		LocalDate today = LocalDate.now();
+
+		assertThat(service.firstAvailable("brake service", today.minusDays(5), today.minusDays(1),
+				MORNING, NOON, null, null, null, 10)).isEmpty();
+	}
+
+	@Test
+	void invalidWindowsAreRejected() {
+		assertThatThrownBy(() -> service.firstAvailable("brake service", SATURDAY, SATURDAY.minusDays(1),
+				MORNING, NOON, null, null, null, 10)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> service.firstAvailable("brake service", SATURDAY, SATURDAY.plusDays(32),
+				MORNING, NOON, null, null, null, 10)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	private void free(int providerId, LocalDate day, LocalTime time) {
+		when(slotCalendar.firstFree(providerId, day, MORNING, NOON)).thenReturn(Optional.of(new SlotDTO(time, 2, 1)));
+	}
+
+	private static ProviderCatalogDTO provider(int id, String name, String services) {
+		ProviderCatalogDTO dto = new ProviderCatalogDTO();
+		dto.setId(id);
+		dto.setGaragename(name);
+		dto.setAvailableservices(services);
+		return dto;
+	}
+}
@@ -0,0 +1,68 @@
+package Vehicle.example.Management.Service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketLimiterTest {
+
+	@Test
+	void burstUpToCapacityThenShed() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(3, 1, 100);
+
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+
+		assertThat(limiter.getAllowed()).isEqualTo(3);
+		assertThat(limiter.getShed()).isEqualTo(1);
+	}
+
+	@Test
+	void shedReportsSecondsUntilTheNextToken() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100);
+		limiter.tryAcquire("10.0.0.1");
+
+		assertThat(limiter.tryAcquire("10.0.0.1")).isBetween(59L, 60L);
+	}
+
+	@Test
+	void bucketRefillsOverTime() throws InterruptedException {
+		// 100 tokens a second, so one is back after 10ms
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 6000, 100);
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+
+		Thread.sleep(50);
+
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+	}
+
+	@Test
+	void refillNeverExceedsCapacity() throws InterruptedException {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(2, 6000, 100);
+		limiter.tryAcquire("10.0.0.1");
+
+		Thread.sleep(100);
+
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1")).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+	}
+
+	@Test
+	void keysHaveSeparateBuckets() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter(1, 1, 100);
+		limiter.tryAcquire("10.0.0.1");
+
+		assertThat(limiter.tryAcquire("10.0.0.1")).isPositive();
+		assertThat(limiter.tryAcquire("10.0.0.2")).isZero();
+	}
+
+	@Test
+	void nonPositiveLimitsAreRejected() {
+		assertThatThrownBy(() -> new TokenBucketLimiter(0, 60, 100)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TokenBucketLimiter(5, 0, 100)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,97 @@
+package Vehicle.example.Management.Service;
+
+import Vehicle.example.Management.List.UserList;
+import Vehicle.example.Management.Repository.UserRepo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserCacheTest {
+
+	private UserCache cache;
+	private UserRepo userRepo;
+
+	@BeforeEach
+	void setUp() {
+		userRepo = mock(UserRepo.class);
+		cache = new UserCache();
+		ReflectionTestUtils.setField(cache, "userRepo", userRepo);
+	}
+
+	@AfterEach
+	void clearSynchronization() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void repeatedLookupsHitTheDatabaseOnce() {
+		when(userRepo.findByUsername("asha")).thenReturn(Optional.of(user("asha", "old@example.com")));
+
+		cache.find("asha");
+		cache.find("asha");
+
+		verify(userRepo, times(1)).findByUsername("asha");
+	}
+
+	@Test
+	void missingUsersAreCachedAsEmpty() {
+		when(userRepo.findByUsername("ghost")).thenReturn(Optional.empty());
+
+		assertThat(cache.find("ghost")).isEmpty();
+		assertThat(cache.find("ghost")).isEmpty();
+
+		verify(userRepo, times(1)).findByUsername("ghost");
+	}
+
+	@Test
+	void invalidateOutsideATransactionDropsTheEntry() {
+		when(userRepo.findByUsername("asha")).thenReturn(
+				Optional.of(user("asha", "old@example.com")),
+				Optional.of(user("asha", "new@example.com")));
+		cache.find("asha");
+
+		cache.invalidate("asha");
+
+		assertThat(cache.find("asha")).map(UserList::getEmail).contains("new@example.com");
+	}
+
+	@Test
+	void staleRowCachedBeforeCommitIsDroppedAfterCommit() {
+		when(userRepo.findByUsername("asha")).thenReturn(
+				Optional.of(user("asha", "old@example.com")),
+				Optional.of(user("asha", "new@example.com")));
+
+		TransactionSynchronizationManager.initSynchronization();
+		cache.invalidate("asha");
+		List<TransactionSynchronization> hooks = TransactionSynchronizationManager.getSynchronizations();
+		TransactionSynchronizationManager.clearSynchronization();
+
+		// A reader racing the uncommitted write re-caches the old row
+		assertThat(cache.find("asha")).map(UserList::getEmail).contains("old@example.com");
+
+		hooks.forEach(TransactionSynchronization::afterCommit);
+
+		assertThat(cache.find("asha")).map(UserList::getEmail).contains("new@example.com");
+	}
+
+	private static UserList user(String username, String email) {
+		UserList user = new UserList();
+		user.setUsername(username);
+		user.setEmail(email);
+		return user;
+	}
+}
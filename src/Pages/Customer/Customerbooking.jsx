@@ -30,7 +30,7 @@ export default function CustomerBooking() {
   const syncTimeoutRef = useRef(null);
   const navigate = useNavigate();
 
-  const availableServices = [
+  const defaultServices = [
     { id: 1, name: "Oil Change", price: 1500, category: "Maintenance" },
     { id: 2, name: "Tire Rotation", price: 1200, category: "Maintenance" },
     { id: 3, name: "Brake Service", price: 3500, category: "Repair" },
@@ -40,6 +40,26 @@ export default function CustomerBooking() {
     { id: 7, name: "Battery Replacement", price: 4000, category: "Electrical" },
     { id: 8, name: "Wheel Alignment", price: 2200, category: "Suspension" }
   ];
+  const [availableServices, setAvailableServices] = useState(defaultServices);
+
+  // Prices are quoted by the server, with the same lookup billing uses (provider, appointment date); the list
+  // above is the offline fallback. Re-quote whenever the appointment being billed changes.
+  const selectedProviderId = selectedAppointment?.providerId != null ? Number(selectedAppointment.providerId) : null;
+  const selectedDate = selectedAppointment?.date || null;
+  useEffect(() => {
+    let cancelled = false;
+    Promise.all(defaultServices.map(service =>
+      axios.get("http://localhost:8080/api/prices/quote", {
+        params: { serviceType: service.name, providerId: selectedProviderId ?? undefined, date: selectedDate ?? undefined }
+      })
+        .then(({ data }) => ({ ...service, price: data }))
+        .catch(() => service)
+    )).then(services => {
+      if (!cancelled) setAvailableServices(services);
+    });
+    return () => { cancelled = true; };
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [selectedProviderId, selectedDate]);
 
   // Debug logging function
   const addDebugLog = (message, data = null) => {
@@ -6,6 +6,7 @@ import {
   AlertCircle, X, Youtube
 } from "lucide-react";
 import axios from "axios";
+import { openEventStream } from "../../eventStream";
 
 export default function VehicleServiceDashboard() {
   const [services, setServices] = useState([]);
@@ -58,6 +59,19 @@ export default function VehicleServiceDashboard() {
     };
 
     fetchServices();
+
+    // Live progress: new steps are appended in place, status changes trigger a reload
+    return openEventStream(`/api/services/${encodeURIComponent(username)}/events`, {
+      update: (e) => {
+        const event = JSON.parse(e.data);
+        setServices(prev => Array.isArray(prev) ? prev.map(service =>
+          service.id === event.serviceId
+            ? { ...service, updates: [...(service.updates || []), event.update] }
+            : service
+        ) : prev);
+      },
+      status: () => fetchServices(),
+    });
   }, [username]);
 
   // YouTube Live Stream Functions
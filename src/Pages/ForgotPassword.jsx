@@ -42,6 +42,9 @@ export default function ForgotPassword() {
         setUsername("");
         setPassword("");
         setConfirmPassword("");
+      } else if (response.status === 429) {
+        const wait = response.headers.get("Retry-After");
+        setError(`⚠️ Too many attempts, try again in ${wait || "a few"} seconds.`);
       } else {
         const errorText = await response.text();
         setError(errorText || "❌ Something went wrong");
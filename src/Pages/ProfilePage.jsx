@@ -102,6 +102,7 @@ export default function ProfilePage() {
 };
   const handleLogout = () => {
     localStorage.removeItem("username");
+    localStorage.removeItem("authToken");
     localStorage.removeItem("name");
     localStorage.removeItem("userId");
     localStorage.removeItem("token");
@@ -1,5 +1,6 @@
 import { Link, useNavigate } from 'react-router-dom';
 import { useEffect, useState } from 'react';
+import { openEventStream } from '../../eventStream';
 import { 
   Calendar, 
   Users, 
@@ -41,6 +42,27 @@ export default function ProviderDashboard() {
     }
   }, [navigate]);
 
+  // Live updates: the server pushes booking/status/payment events instead of us polling
+  useEffect(() => {
+    const providerId = localStorage.getItem("providerId");
+    const providerName = localStorage.getItem("providerOwnername");
+    if (!providerId || !providerName) return;
+
+    let refreshTimer = null;
+    const refresh = () => {
+      // Coalesce bursts (e.g. a fleet booking) into one reload
+      clearTimeout(refreshTimer);
+      refreshTimer = setTimeout(() => fetchProviderData(providerName), 300);
+    };
+    const close = openEventStream(`/appointment/provider/${providerId}/events`,
+      { booking: refresh, status: refresh, payment: refresh, resync: refresh });
+
+    return () => {
+      clearTimeout(refreshTimer);
+      close();
+    };
+  }, []);
+
   const fetchProviderData = async (providerName) => {
     try {
       setLoading(true);
@@ -147,6 +169,7 @@ export default function ProviderDashboard() {
 
   const handleLogout = () => {
     localStorage.removeItem("providerLoggedIn");
+    localStorage.removeItem("authToken");
     localStorage.removeItem("providerOwnername");
     localStorage.removeItem("providerId");
     navigate("/providerLogin");
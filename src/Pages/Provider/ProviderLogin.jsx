@@ -28,6 +28,7 @@ export default function Signin() {
             localStorage.setItem("providerId", response.data.id.toString());
             localStorage.setItem("providerName", response.data.garageName);
             localStorage.setItem("provider", JSON.stringify(response.data));
+            localStorage.setItem("authToken", response.headers["x-auth-token"]);
 
             alert("✅ Login successful!");
             navigate("/provider/Dashboard"); // corrected route
@@ -36,7 +37,10 @@ export default function Signin() {
           }
         } catch (err) {
           console.error(err);
-          if (err.response && err.response.status === 401) {
+          if (err.response && err.response.status === 429) {
+            const wait = err.response.headers["retry-after"];
+            setError(`❌ Too many attempts, try again in ${wait || "a few"} seconds`);
+          } else if (err.response && err.response.status === 401) {
             setError("❌ Invalid ownername or password");
           } else {
             setError("❌ Server error, try again later");
@@ -24,6 +24,7 @@ export default function Signin() {
         localStorage.setItem("username", response.data.username);
         localStorage.setItem("name", response.data.name);
         localStorage.setItem("userId", response.data.id);
+        localStorage.setItem("authToken", response.data.token);
        
 
         // Dispatch custom event to notify Navbar about login
@@ -35,7 +36,10 @@ export default function Signin() {
       }
     } catch (err) {
       console.error(err);
-      if (err.response && err.response.status === 401) {
+      if (err.response && err.response.status === 429) {
+        const wait = err.response.headers["retry-after"];
+        setError(`❌ Too many attempts, try again in ${wait || "a few"} seconds`);
+      } else if (err.response && err.response.status === 401) {
         setError("❌ Invalid username or password");
       } else {
         setError("❌ Server error, try again later");
@@ -101,6 +101,7 @@ export default function Navbar() {
   const handleLogout = () => {
     localStorage.removeItem("token");
     localStorage.removeItem("username");
+    localStorage.removeItem("authToken");
     localStorage.removeItem("name");
     localStorage.removeItem("userId");
     setIsLoggedIn(false);
@@ -0,0 +1,50 @@
+import axios from "axios";
+
+const BASE_URL = "http://localhost:8080";
+
+// EventSource cannot send the Authorization header, so each connection first trades the session
+// token for a short-lived ticket that only opens this one stream. When the browser's own retry is
+// refused (the ticket has expired by then) we fetch a new ticket and resume from the last event id.
+export function openEventStream(path, listeners) {
+  let source = null;
+  let lastEventId = null;
+  let retryTimer = null;
+  let closed = false;
+
+  const connect = async () => {
+    try {
+      const { data } = await axios.post(`${BASE_URL}/api/session/stream-ticket`, null, { params: { path } });
+      if (closed) return;
+      const params = new URLSearchParams({ ticket: data.ticket });
+      if (lastEventId) params.set("lastEventId", lastEventId);
+      source = new EventSource(`${BASE_URL}${path}?${params}`);
+      Object.entries(listeners).forEach(([type, listener]) =>
+        source.addEventListener(type, (e) => {
+          if (e.lastEventId) lastEventId = e.lastEventId;
+          listener(e);
+        })
+      );
+      source.onerror = () => {
+        if (source.readyState === EventSource.CLOSED) scheduleReconnect();
+      };
+    } catch (error) {
+      // Signed out (401) means there is nothing to stream; anything else is worth another try
+      if (error.response && error.response.status === 401) return;
+      scheduleReconnect();
+    }
+  };
+
+  const scheduleReconnect = () => {
+    if (closed) return;
+    clearTimeout(retryTimer);
+    retryTimer = setTimeout(connect, 3000);
+  };
+
+  connect();
+
+  return () => {
+    closed = true;
+    clearTimeout(retryTimer);
+    if (source) source.close();
+  };
+}
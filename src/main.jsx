@@ -3,6 +3,22 @@ import { createRoot } from 'react-dom/client'
 import './index.css'
 import App from './App.jsx'
 import { BrowserRouter } from 'react-router-dom'
+import axios from 'axios'
+
+// Send the session token from the last login; drop it once the server rejects it
+axios.interceptors.request.use((config) => {
+  const token = localStorage.getItem('authToken')
+  if (token) {
+    config.headers.Authorization = `Bearer ${token}`
+  }
+  return config
+})
+axios.interceptors.response.use(undefined, (error) => {
+  if (error.response && error.response.status === 401 && error.config?.headers?.Authorization) {
+    localStorage.removeItem('authToken')
+  }
+  return Promise.reject(error)
+})
 
 
 createRoot(document.getElementById('root')).render(